@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.extensions.Coordinate;
+
+/**
+ * Latitude and longitude bounding box, bounds included.
+ *
+ * @author agent <agent at local>
+ */
+public record BoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+    public BoundingBox {
+        if (!isValid(minLatitude, minLongitude, maxLatitude, maxLongitude)) {
+            throw new IllegalArgumentException("Invalid bounding box [" + minLatitude + ", " + minLongitude + ", " + maxLatitude + ", " + maxLongitude + "]");
+        }
+    }
+
+    // false for the inverted bounds and NaN
+    public static boolean isValid(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        return minLatitude <= maxLatitude && minLongitude <= maxLongitude;
+    }
+
+    // also false for the bounds out of the latitudes and longitudes ranges, and the infinities
+    public static boolean isValidRequest(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        return isValid(minLatitude, minLongitude, maxLatitude, maxLongitude)
+            && minLatitude >= -90 && maxLatitude <= 90 && minLongitude >= -180 && maxLongitude <= 180;
+    }
+
+    public static BoundingBox of(Coordinate coordinate) {
+        return new BoundingBox(coordinate.getLatitude(), coordinate.getLongitude(), coordinate.getLatitude(), coordinate.getLongitude());
+    }
+
+    public boolean contains(Coordinate coordinate) {
+        return coordinate.getLatitude() >= minLatitude && coordinate.getLatitude() <= maxLatitude
+            && coordinate.getLongitude() >= minLongitude && coordinate.getLongitude() <= maxLongitude;
+    }
+
+    public boolean intersects(BoundingBox other) {
+        return other.minLatitude <= maxLatitude && other.maxLatitude >= minLatitude
+            && other.minLongitude <= maxLongitude && other.maxLongitude >= minLongitude;
+    }
+
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(Math.min(minLatitude, other.minLatitude), Math.min(minLongitude, other.minLongitude),
+            Math.max(maxLatitude, other.maxLatitude), Math.max(maxLongitude, other.maxLongitude));
+    }
+}
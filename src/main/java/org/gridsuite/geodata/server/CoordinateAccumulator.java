@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+/**
+ * Single pass accumulator of the average and the extent of a set of coordinates, reusable with {@link #reset()}.
+ * <p>
+ * The averages are computed with the same compensated summation as {@link java.util.stream.DoubleStream#average()},
+ * so they are exactly the ones of the streams they replace.
+ *
+ * @author agent <agent at local>
+ */
+final class CoordinateAccumulator {
+
+    private int count;
+
+    // sum, compensation and simple sum of the latitudes then of the longitudes
+    private final double[] latitudeSum = new double[3];
+    private final double[] longitudeSum = new double[3];
+
+    private double minLatitude;
+    private double maxLatitude;
+    private double minLongitude;
+    private double maxLongitude;
+
+    CoordinateAccumulator() {
+        reset();
+    }
+
+    void reset() {
+        count = 0;
+        latitudeSum[0] = latitudeSum[1] = latitudeSum[2] = 0;
+        longitudeSum[0] = longitudeSum[1] = longitudeSum[2] = 0;
+        minLatitude = Double.POSITIVE_INFINITY;
+        maxLatitude = Double.NEGATIVE_INFINITY;
+        minLongitude = Double.POSITIVE_INFINITY;
+        maxLongitude = Double.NEGATIVE_INFINITY;
+    }
+
+    void add(double latitude, double longitude) {
+        count++;
+        sumWithCompensation(latitudeSum, latitude);
+        sumWithCompensation(longitudeSum, longitude);
+        minLatitude = Math.min(minLatitude, latitude);
+        maxLatitude = Math.max(maxLatitude, latitude);
+        minLongitude = Math.min(minLongitude, longitude);
+        maxLongitude = Math.max(maxLongitude, longitude);
+    }
+
+    int count() {
+        return count;
+    }
+
+    double averageLatitude() {
+        return finalSum(latitudeSum) / count;
+    }
+
+    double averageLongitude() {
+        return finalSum(longitudeSum) / count;
+    }
+
+    double latitudeRange() {
+        return maxLatitude - minLatitude;
+    }
+
+    double longitudeRange() {
+        return maxLongitude - minLongitude;
+    }
+
+    // Kahan summation, as done by java.util.stream.Collectors
+    private static void sumWithCompensation(double[] sum, double value) {
+        double tmp = value - sum[1];
+        double velvel = sum[0] + tmp;
+        sum[1] = (velvel - sum[0]) - tmp;
+        sum[0] = velvel;
+        sum[2] += value;
+    }
+
+    private static double finalSum(double[] sum) {
+        // the compensation is negated
+        double tmp = sum[0] - sum[1];
+        return Double.isNaN(tmp) && Double.isInfinite(sum[2]) ? sum[2] : tmp;
+    }
+}
@@ -15,7 +15,10 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.gridsuite.geodata.server.dto.EncodedLineGeoData;
 import org.gridsuite.geodata.server.dto.LineGeoData;
+import org.gridsuite.geodata.server.dto.NetworkGeoData;
+import org.gridsuite.geodata.server.dto.SubstationCluster;
 import org.gridsuite.geodata.server.dto.SubstationGeoData;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.http.MediaType;
@@ -40,6 +43,10 @@ public class GeoDataController {
 
     static final String API_VERSION = "v1";
 
+    static final String POLYLINE_FORMAT = "polyline";
+
+    static final String VECTOR_TILE_MEDIA_TYPE = "application/vnd.mapbox-vector-tile";
+
     private final GeoDataService geoDataService;
 
     private final NetworkStoreService networkStoreService;
@@ -65,7 +72,7 @@ public class GeoDataController {
         if (variantId != null) {
             network.getVariantManager().setWorkingVariant(variantId);
         }
-        return geoDataService.getSubstationsData(network, countrySet, substationIds).thenApply(
+        return geoDataService.getSubstationsData(networkUuid, network, countrySet, substationIds).thenApply(
             substations -> ResponseEntity.ok().body(substations));
     }
 
@@ -75,13 +82,155 @@ public class GeoDataController {
     public CompletableFuture<ResponseEntity<List<LineGeoData>>> getLines(@Parameter(description = "Network UUID")@RequestParam UUID networkUuid,
                                                       @Parameter(description = "Variant Id") @RequestParam(name = "variantId", required = false) String variantId,
                                                       @Parameter(description = "Countries") @RequestParam(name = "country", required = false) List<String> countries,
+                                                      @Parameter(description = "Map zoom level, to get the lines simplified for this zoom level") @RequestParam(name = "zoom", required = false) Integer zoom,
+                                                      @Parameter(description = "Simplification tolerance in degrees, takes precedence over the zoom level") @RequestParam(name = "tolerance", required = false) Double tolerance,
                                                       @RequestBody(required = false) List<String> lineIds) {
         Set<Country> countrySet = toCountrySet(countries);
         Network network = networkStoreService.getNetwork(networkUuid, lineIds != null ? PreloadingStrategy.NONE : PreloadingStrategy.COLLECTION);
         if (variantId != null) {
             network.getVariantManager().setWorkingVariant(variantId);
         }
-        return geoDataService.getLinesData(network, countrySet, lineIds).thenApply(
+        return geoDataService.getLinesData(networkUuid, network, countrySet, lineIds, GeoDataService.getTolerance(zoom, tolerance)).thenApply(
             lines -> ResponseEntity.ok().body(lines));
     }
+
+    @PostMapping(value = "/lines/infos", params = "format=" + POLYLINE_FORMAT, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get lines geographical data, with the coordinates of each line as an encoded polyline (format=polyline)")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Lines geographical data")})
+    public CompletableFuture<ResponseEntity<List<EncodedLineGeoData>>> getEncodedLines(@Parameter(description = "Network UUID")@RequestParam UUID networkUuid,
+                                                                                       @Parameter(description = "Variant Id") @RequestParam(name = "variantId", required = false) String variantId,
+                                                                                       @Parameter(description = "Countries") @RequestParam(name = "country", required = false) List<String> countries,
+                                                                                       @Parameter(description = "Map zoom level, to get the lines simplified for this zoom level") @RequestParam(name = "zoom", required = false) Integer zoom,
+                                                                                       @Parameter(description = "Simplification tolerance in degrees, takes precedence over the zoom level") @RequestParam(name = "tolerance", required = false) Double tolerance,
+                                                                                       @RequestBody(required = false) List<String> lineIds) {
+        Set<Country> countrySet = toCountrySet(countries);
+        Network network = networkStoreService.getNetwork(networkUuid, lineIds != null ? PreloadingStrategy.NONE : PreloadingStrategy.COLLECTION);
+        if (variantId != null) {
+            network.getVariantManager().setWorkingVariant(variantId);
+        }
+        return geoDataService.getEncodedLinesData(networkUuid, network, countrySet, lineIds, GeoDataService.getTolerance(zoom, tolerance)).thenApply(
+            lines -> ResponseEntity.ok().body(lines));
+    }
+
+    @GetMapping(value = "/network/infos", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get substations and lines geographical data, computed from the same substations layout")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Substations and lines geographical data")})
+    public CompletableFuture<ResponseEntity<NetworkGeoData>> getNetworkGeoData(@Parameter(description = "Network UUID") @RequestParam UUID networkUuid,
+                                                                               @Parameter(description = "Variant Id") @RequestParam(name = "variantId", required = false) String variantId,
+                                                                               @Parameter(description = "Countries") @RequestParam(name = "country", required = false) List<String> countries) {
+        Set<Country> countrySet = toCountrySet(countries);
+        Network network = networkStoreService.getNetwork(networkUuid, PreloadingStrategy.COLLECTION);
+        if (variantId != null) {
+            network.getVariantManager().setWorkingVariant(variantId);
+        }
+        return geoDataService.getNetworkGeoData(networkUuid, network, countrySet).thenApply(
+            networkGeoData -> ResponseEntity.ok().body(networkGeoData));
+    }
+
+    @GetMapping(value = "/substations/viewport", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get geographical data for the substations in the given bounding box")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Substations geographical data"),
+        @ApiResponse(responseCode = "400", description = "Invalid bounding box")})
+    public CompletableFuture<ResponseEntity<List<SubstationGeoData>>> getSubstationsInViewport(@Parameter(description = "Network UUID") @RequestParam UUID networkUuid,
+                                                                                               @Parameter(description = "Variant Id") @RequestParam(name = "variantId", required = false) String variantId,
+                                                                                               @Parameter(description = "Minimum latitude") @RequestParam double minLatitude,
+                                                                                               @Parameter(description = "Minimum longitude") @RequestParam double minLongitude,
+                                                                                               @Parameter(description = "Maximum latitude") @RequestParam double maxLatitude,
+                                                                                               @Parameter(description = "Maximum longitude") @RequestParam double maxLongitude) {
+        if (!BoundingBox.isValidRequest(minLatitude, minLongitude, maxLatitude, maxLongitude)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        BoundingBox boundingBox = new BoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        Network network = networkStoreService.getNetwork(networkUuid, PreloadingStrategy.COLLECTION);
+        if (variantId != null) {
+            network.getVariantManager().setWorkingVariant(variantId);
+        }
+        return geoDataService.getSubstationsDataByBoundingBox(networkUuid, network, boundingBox).thenApply(
+            substations -> ResponseEntity.ok().body(substations));
+    }
+
+    @GetMapping(value = "/lines/viewport", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get geographical data for the lines crossing the given bounding box")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Lines geographical data"),
+        @ApiResponse(responseCode = "400", description = "Invalid bounding box")})
+    public CompletableFuture<ResponseEntity<List<LineGeoData>>> getLinesInViewport(@Parameter(description = "Network UUID") @RequestParam UUID networkUuid,
+                                                                                   @Parameter(description = "Variant Id") @RequestParam(name = "variantId", required = false) String variantId,
+                                                                                   @Parameter(description = "Minimum latitude") @RequestParam double minLatitude,
+                                                                                   @Parameter(description = "Minimum longitude") @RequestParam double minLongitude,
+                                                                                   @Parameter(description = "Maximum latitude") @RequestParam double maxLatitude,
+                                                                                   @Parameter(description = "Maximum longitude") @RequestParam double maxLongitude,
+                                                                                   @Parameter(description = "Map zoom level, to get the lines simplified for this zoom level") @RequestParam(name = "zoom", required = false) Integer zoom,
+                                                                                   @Parameter(description = "Simplification tolerance in degrees, takes precedence over the zoom level") @RequestParam(name = "tolerance", required = false) Double tolerance) {
+        if (!BoundingBox.isValidRequest(minLatitude, minLongitude, maxLatitude, maxLongitude)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        BoundingBox boundingBox = new BoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        Network network = networkStoreService.getNetwork(networkUuid, PreloadingStrategy.COLLECTION);
+        if (variantId != null) {
+            network.getVariantManager().setWorkingVariant(variantId);
+        }
+        return geoDataService.getLinesDataByBoundingBox(networkUuid, network, boundingBox, GeoDataService.getTolerance(zoom, tolerance)).thenApply(
+            lines -> ResponseEntity.ok().body(lines));
+    }
+
+    @GetMapping(value = "/tiles/{z}/{x}/{y}", produces = VECTOR_TILE_MEDIA_TYPE)
+    @Operation(summary = "Get a Mapbox vector tile of the substations and lines")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Substations and lines vector tile"),
+        @ApiResponse(responseCode = "400", description = "Invalid tile coordinates")})
+    public CompletableFuture<ResponseEntity<byte[]>> getTile(@Parameter(description = "Zoom level") @PathVariable int z,
+                                                             @Parameter(description = "Tile column") @PathVariable int x,
+                                                             @Parameter(description = "Tile row, from the north") @PathVariable int y,
+                                                             @Parameter(description = "Network UUID") @RequestParam UUID networkUuid,
+                                                             @Parameter(description = "Variant Id") @RequestParam(name = "variantId", required = false) String variantId) {
+        if (!VectorTileEncoder.isValid(z, x, y)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        Network network = networkStoreService.getNetwork(networkUuid, PreloadingStrategy.COLLECTION);
+        if (variantId != null) {
+            network.getVariantManager().setWorkingVariant(variantId);
+        }
+        return geoDataService.getTileData(networkUuid, network, z, x, y).thenApply(
+            tile -> ResponseEntity.ok().contentType(MediaType.parseMediaType(VECTOR_TILE_MEDIA_TYPE)).body(tile));
+    }
+
+    @GetMapping(value = "/substations/clusters", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the clusters of substations at the given zoom level in the given bounding box")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Substations clusters"),
+        @ApiResponse(responseCode = "400", description = "Invalid bounding box")})
+    public CompletableFuture<ResponseEntity<List<SubstationCluster>>> getSubstationClusters(@Parameter(description = "Network UUID") @RequestParam UUID networkUuid,
+                                                                                            @Parameter(description = "Variant Id") @RequestParam(name = "variantId", required = false) String variantId,
+                                                                                            @Parameter(description = "Map zoom level") @RequestParam int zoom,
+                                                                                            @Parameter(description = "Minimum latitude") @RequestParam double minLatitude,
+                                                                                            @Parameter(description = "Minimum longitude") @RequestParam double minLongitude,
+                                                                                            @Parameter(description = "Maximum latitude") @RequestParam double maxLatitude,
+                                                                                            @Parameter(description = "Maximum longitude") @RequestParam double maxLongitude) {
+        if (!BoundingBox.isValidRequest(minLatitude, minLongitude, maxLatitude, maxLongitude)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        BoundingBox boundingBox = new BoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        Network network = networkStoreService.getNetwork(networkUuid, PreloadingStrategy.COLLECTION);
+        if (variantId != null) {
+            network.getVariantManager().setWorkingVariant(variantId);
+        }
+        return geoDataService.getSubstationClustersData(networkUuid, network, zoom, boundingBox).thenApply(
+            clusters -> ResponseEntity.ok().body(clusters));
+    }
+
+    @GetMapping(value = "/substations/clusters/expansion", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the clusters of substations at the next zoom level of a cluster")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Substations clusters"),
+        @ApiResponse(responseCode = "400", description = "Invalid cluster token")})
+    public CompletableFuture<ResponseEntity<List<SubstationCluster>>> expandSubstationCluster(@Parameter(description = "Network UUID") @RequestParam UUID networkUuid,
+                                                                                              @Parameter(description = "Variant Id") @RequestParam(name = "variantId", required = false) String variantId,
+                                                                                              @Parameter(description = "Cluster token") @RequestParam String token) {
+        if (!SubstationClusterIndex.isValidToken(token)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        Network network = networkStoreService.getNetwork(networkUuid, PreloadingStrategy.COLLECTION);
+        if (variantId != null) {
+            network.getVariantManager().setWorkingVariant(variantId);
+        }
+        return geoDataService.expandSubstationClusterData(networkUuid, network, token).thenApply(
+            clusters -> ResponseEntity.ok().body(clusters));
+    }
 }
@@ -6,12 +6,16 @@
  */
 package org.gridsuite.geodata.server;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.NonNull;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Ghazwa Rehili <ghazwa.rehili at rte-france.com>
@@ -24,10 +28,44 @@ public class GeoDataObserver {
     private static final String TASK_TYPE_TAG_NAME = "type";
     private static final String TASK_TYPE_TAG_VALUE_CURRENT = "current";
     private static final String TASK_TYPE_TAG_VALUE_PENDING = "pending";
+    private static final String IMPORT_POOL_METER_NAME_PREFIX = OBSERVATION_PREFIX + "imports.pool.";
+    private static final String SUBSTATION_STORE_METER_NAME_PREFIX = OBSERVATION_PREFIX + "substation-store.";
+    private static final String LAYOUT_CACHE_METER_NAME = OBSERVATION_PREFIX + "layout-cache.lookups";
+    private static final String RESULT_TAG_NAME = "result";
+    private static final String RESULT_TAG_VALUE_HIT = "hit";
+    private static final String RESULT_TAG_VALUE_MISS = "miss";
     private final MeterRegistry meterRegistry;
+    private final Counter substationStoreHits;
+    private final Counter substationStoreMisses;
+    private final Timer substationStoreRefreshTimer;
+    private final Counter layoutCacheHits;
+    private final Counter layoutCacheMisses;
+    private final AtomicLong substationStoreSize = new AtomicLong();
 
     public GeoDataObserver(@NonNull MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
+        substationStoreHits = Counter.builder(SUBSTATION_STORE_METER_NAME_PREFIX + "lookups")
+                .description("The number of substation lookups in the substation store")
+                .tag(RESULT_TAG_NAME, RESULT_TAG_VALUE_HIT)
+                .register(meterRegistry);
+        substationStoreMisses = Counter.builder(SUBSTATION_STORE_METER_NAME_PREFIX + "lookups")
+                .description("The number of substation lookups in the substation store")
+                .tag(RESULT_TAG_NAME, RESULT_TAG_VALUE_MISS)
+                .register(meterRegistry);
+        substationStoreRefreshTimer = Timer.builder(SUBSTATION_STORE_METER_NAME_PREFIX + "refresh")
+                .description("The time spent to (re)load the substation store")
+                .register(meterRegistry);
+        layoutCacheHits = Counter.builder(LAYOUT_CACHE_METER_NAME)
+                .description("The number of lookups in the substations layout cache")
+                .tag(RESULT_TAG_NAME, RESULT_TAG_VALUE_HIT)
+                .register(meterRegistry);
+        layoutCacheMisses = Counter.builder(LAYOUT_CACHE_METER_NAME)
+                .description("The number of lookups in the substations layout cache")
+                .tag(RESULT_TAG_NAME, RESULT_TAG_VALUE_MISS)
+                .register(meterRegistry);
+        Gauge.builder(SUBSTATION_STORE_METER_NAME_PREFIX + "size", substationStoreSize, AtomicLong::get)
+                .description("The number of substations in the substation store")
+                .register(meterRegistry);
     }
 
     public void createThreadPoolMetric(ThreadPoolExecutor threadPoolExecutor) {
@@ -43,4 +81,32 @@ public class GeoDataObserver {
                 .tag(TASK_TYPE_TAG_NAME, TASK_TYPE_TAG_VALUE_PENDING)
                 .register(meterRegistry);
     }
+
+    public void createImportThreadPoolMetric(ThreadPoolExecutor threadPoolExecutor) {
+        Gauge.builder(IMPORT_POOL_METER_NAME_PREFIX + TASK_TYPE_TAG_VALUE_CURRENT,
+                        threadPoolExecutor, ThreadPoolExecutor::getActiveCount)
+                .description("The number of running import jobs")
+                .tag(TASK_TYPE_TAG_NAME, TASK_TYPE_TAG_VALUE_CURRENT)
+                .register(meterRegistry);
+
+        Gauge.builder(IMPORT_POOL_METER_NAME_PREFIX + TASK_TYPE_TAG_VALUE_PENDING,
+                        threadPoolExecutor, executor -> executor.getQueue().size())
+                .description("The number of queued import jobs")
+                .tag(TASK_TYPE_TAG_NAME, TASK_TYPE_TAG_VALUE_PENDING)
+                .register(meterRegistry);
+    }
+
+    public void recordSubstationStoreLookups(long hits, long misses) {
+        substationStoreHits.increment(hits);
+        substationStoreMisses.increment(misses);
+    }
+
+    public void recordSubstationStoreRefresh(long durationMs, long size) {
+        substationStoreRefreshTimer.record(durationMs, TimeUnit.MILLISECONDS);
+        substationStoreSize.set(size);
+    }
+
+    public void recordLayoutCacheLookup(boolean hit) {
+        (hit ? layoutCacheHits : layoutCacheMisses).increment();
+    }
 }
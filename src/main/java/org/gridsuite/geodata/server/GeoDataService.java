@@ -6,7 +6,10 @@
  */
 package org.gridsuite.geodata.server;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Streams;
@@ -17,9 +20,17 @@ import com.powsybl.ws.commons.LogUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.commons.math3.util.Precision;
+import org.gridsuite.geodata.server.dto.EncodedLineGeoData;
+import org.gridsuite.geodata.server.dto.ImportReport;
 import org.gridsuite.geodata.server.dto.LineGeoData;
+import org.gridsuite.geodata.server.dto.NetworkGeoData;
+import org.gridsuite.geodata.server.dto.SubstationCluster;
 import org.gridsuite.geodata.server.dto.SubstationGeoData;
+import org.gridsuite.geodata.server.repositories.BulkSyncResult;
+import org.gridsuite.geodata.server.repositories.BulkWriteResult;
+import org.gridsuite.geodata.server.repositories.DecimalRounding;
+import org.gridsuite.geodata.server.repositories.LineBoundingBox;
+import org.gridsuite.geodata.server.repositories.LineCoordinatesCodec;
 import org.gridsuite.geodata.server.repositories.LineEntity;
 import org.gridsuite.geodata.server.repositories.LineRepository;
 import org.gridsuite.geodata.server.repositories.SubstationEntity;
@@ -29,12 +40,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -53,49 +67,89 @@ public class GeoDataService {
 
     private final ObjectMapper mapper;
 
-    @Value("${network-geo-data.iterations:50}")
-    private int maxIterations;
-
     private final SubstationRepository substationRepository;
 
     private final LineRepository lineRepository;
 
     private final DefaultSubstationGeoDataByCountry defaultSubstationsGeoData;
 
+    private final SubstationGeoDataStore substationGeoDataStore;
+
+    private final SubstationLayoutCache substationLayoutCache;
+
+    private final ViewportIndexCache viewportIndexCache;
+
+    private final VectorTileCache vectorTileCache;
+
     private final GeoDataExecutionService geoDataExecutionService;
+
+    private final LayoutExecutionService layoutExecutionService;
+
     private final int geoDataRoundPrecision;
 
+    private final int declutterMaxClusterSize;
+
+    private final boolean parallelLayout;
+
+    private final int substationsByIdsMaxHops;
+
+    private final int substationsByIdsMinAnchors;
+
+    private final double[] simplificationTolerances;
+
+    private final int clustersMaxIds;
+
+    private final int bulkWriteBatchSize;
+
     public GeoDataService(ObjectMapper mapper,
                           SubstationRepository substationRepository,
                           LineRepository lineRepository,
                           DefaultSubstationGeoDataByCountry defaultSubstationsGeoData,
+                          SubstationGeoDataStore substationGeoDataStore,
+                          SubstationLayoutCache substationLayoutCache,
+                          ViewportIndexCache viewportIndexCache,
+                          VectorTileCache vectorTileCache,
                           GeoDataExecutionService geoDataExecutionService,
-                          @Value("${geo_data_round_precision}") int geoDataRoundPrecision) {
+                          LayoutExecutionService layoutExecutionService,
+                          @Value("${geo_data_round_precision}") int geoDataRoundPrecision,
+                          @Value("${network-geo-data.declutter.max-cluster-size:10000}") int declutterMaxClusterSize,
+                          @Value("${network-geo-data.parallel-layout:false}") boolean parallelLayout,
+                          @Value("${network-geo-data.substations-by-ids.max-hops:10}") int substationsByIdsMaxHops,
+                          @Value("${network-geo-data.substations-by-ids.min-anchors:20}") int substationsByIdsMinAnchors,
+                          @Value("${network-geo-data.simplification.tolerances:0.0005,0.002,0.01,0.05}") double[] simplificationTolerances,
+                          @Value("${network-geo-data.clusters.max-ids:20}") int clustersMaxIds,
+                          @Value("${network-geo-data.bulk-write.batch-size:1000}") int bulkWriteBatchSize) {
         this.mapper = mapper;
         this.substationRepository = substationRepository;
         this.lineRepository = lineRepository;
         this.defaultSubstationsGeoData = defaultSubstationsGeoData;
+        this.substationGeoDataStore = substationGeoDataStore;
+        this.substationLayoutCache = substationLayoutCache;
+        this.viewportIndexCache = viewportIndexCache;
+        this.vectorTileCache = vectorTileCache;
         this.geoDataExecutionService = geoDataExecutionService;
+        this.layoutExecutionService = layoutExecutionService;
         this.geoDataRoundPrecision = geoDataRoundPrecision;
+        this.declutterMaxClusterSize = declutterMaxClusterSize;
+        this.parallelLayout = parallelLayout;
+        this.substationsByIdsMaxHops = substationsByIdsMaxHops;
+        this.substationsByIdsMinAnchors = substationsByIdsMinAnchors;
+        this.simplificationTolerances = simplificationTolerances.clone();
+        Arrays.sort(this.simplificationTolerances);
+        this.clustersMaxIds = clustersMaxIds;
+        this.bulkWriteBatchSize = bulkWriteBatchSize;
     }
 
-    private Set<String> toCountryIds(Collection<Country> countries) {
-        return countries.stream().map(Country::name).collect(Collectors.toSet());
-    }
-
-    private Map<String, SubstationGeoData> readSubstationGeoDataFromDb(Set<Country> countries) {
-        // read substations from DB
-        StopWatch stopWatch = StopWatch.createStarted();
-
-        List<SubstationEntity> substationEntities = countries.isEmpty() ? substationRepository.findAll() :
-            substationRepository.findByCountryIn(toCountryIds(countries));
-        Map<String, SubstationGeoData> substationsGeoDataDB = substationEntities.stream()
-                .map(SubstationEntity::toGeoData)
-                .collect(Collectors.toMap(SubstationGeoData::getId, Function.identity()));
-
-        LOGGER.info("{} substations read from DB in {} ms", substationsGeoDataDB.size(), stopWatch.getTime(TimeUnit.MILLISECONDS));
-
-        return substationsGeoDataDB;
+    /**
+     * returns the substations layout of the network working variant, from the cache if already
+     * computed. The layout is not cached when the network uuid is unknown.
+     */
+    private List<SubstationGeoData> getSubstationsByCountries(UUID networkUuid, Network network, Set<Country> countries) {
+        if (networkUuid == null) {
+            return getSubstationsByCountries(network, countries);
+        }
+        SubstationLayoutCache.Key key = new SubstationLayoutCache.Key(networkUuid, network.getVariantManager().getWorkingVariantId(), countries);
+        return substationLayoutCache.get(key, () -> getSubstationsByCountries(network, countries));
     }
 
     List<SubstationGeoData> getSubstationsByCountries(Network network, Set<Country> countries) {
@@ -104,49 +158,35 @@ public class GeoDataService {
         Objects.requireNonNull(network);
         Objects.requireNonNull(countries);
 
-        // get substations from the db
-        Map<String, SubstationGeoData> substationsGeoDataDb = readSubstationGeoDataFromDb(countries);
-
         // filter substation by countries
         List<Substation> substations = network.getSubstationStream()
                 .filter(s -> countries.isEmpty() || s.getCountry().filter(countries::contains).isPresent())
                 .toList();
 
         // split substations with a known position and the others
-        Map<String, SubstationGeoData> substationsGeoData = new HashMap<>();
-        Set<String> substationsToCalculate = new HashSet<>();
-        for (Substation substation : substations) {
-            SubstationGeoData substationGeoData = Optional.ofNullable(substationsGeoDataDb.get(substation.getId())).orElseGet(() -> substationsGeoDataDb.get(substation.getNameOrId()));
-            if (substationGeoData != null && (substation.getCountry().isEmpty() || substation.getCountry().filter(c -> c.name().equals(substationGeoData.getCountry().name())).isPresent())) {
-                substationGeoData.setId(substation.getId());
-                substationsGeoData.put(substation.getId(), substationGeoData);
-            } else {
-                substationsToCalculate.add(substation.getId());
-            }
-        }
+        Map<String, SubstationGeoData> knownGeoData = substationGeoDataStore.getBySubstations(substations, countries);
+        int substationsToCalculateCount = substations.size() - knownGeoData.size();
 
-        LOGGER.info("{} substations, {} found in the DB, {} not found", substations.size(), substationsGeoData.size(), substationsToCalculate.size());
+        LOGGER.info("{} substations, {} found in the store, {} not found", substations.size(), knownGeoData.size(), substationsToCalculateCount);
 
-        long accuracyFactor = round(100 * (double) substationsGeoData.size() / (substationsToCalculate.size() + substationsGeoData.size()));
+        long accuracyFactor = round(100 * (double) knownGeoData.size() / substations.size());
         if (accuracyFactor < 75) {
             LOGGER.warn("Accuracy factor is less than 75% !");
         }
 
-        // adjacency matrix
-        Map<String, Set<String>> neighbours = getNeighbours(substations);
-
-        // let's sort this map by values first : max neighbors having known GPS coords
-        Map<String, Set<String>> sortedNeighbours = neighbours
-                .entrySet()
-                .stream()
-                .filter(e -> !substationsGeoData.containsKey(e.getKey()))
-                .sorted((e1, e2) -> neighboursComparator(network, e1.getValue(), e2.getValue()))
-                .collect(Collectors.toMap(Entry::getKey, Entry::getValue, (oldValue, newValue) -> oldValue, LinkedHashMap::new));
+        // adjacency graph, the filtered substations come first in the graph
+        SubstationGraph graph = getGraph(substations);
+        SubstationGeoData[] substationsGeoData = new SubstationGeoData[graph.size()];
+        knownGeoData.forEach((id, geoData) -> substationsGeoData[graph.indexOf(id)] = geoData);
+        boolean[] toCalculate = new boolean[graph.size()];
+        for (int i = 0; i < substations.size(); i++) {
+            toCalculate[i] = substationsGeoData[i] == null;
+        }
 
-        calculateMissingGeoData(network, sortedNeighbours, substationsGeoData, substationsToCalculate);
-        calculateDefaultSubstationsGeoData(substationsGeoData, sortedNeighbours);
+        calculateMissingGeoData(graph, sortByKnownNeighbours(graph, toCalculate), substationsGeoData, toCalculate);
+        calculateDefaultSubstationsGeoData(graph, substationsGeoData, toCalculate);
 
-        return new ArrayList<>(substationsGeoData.values());
+        return Arrays.stream(substationsGeoData).filter(Objects::nonNull).toList();
     }
 
     List<SubstationGeoData> getSubstationsByIds(Network network, Set<String> substationIds) {
@@ -157,62 +197,123 @@ public class GeoDataService {
 
         StopWatch stopWatch = StopWatch.createStarted();
 
-        Set<String> substationsToCalculate = new HashSet<>();
-
-        Map<String, SubstationGeoData> geoDataForComputation = new HashMap<>();
-        Map<String, Set<String>> neighboursBySubstationId = new HashMap<>();
+        Map<String, SubstationGeoData> knownGeoData = new HashMap<>();
+        SubstationGraph.Builder graphBuilder = new SubstationGraph.Builder();
+        List<String> substationsToCalculate = new ArrayList<>();
 
-        prepareGeoDataForComputation(network, geoDataForComputation, neighboursBySubstationId, substationsToCalculate, substationIds);
+        prepareGeoDataForComputation(network, knownGeoData, graphBuilder, substationsToCalculate, substationIds);
 
-        //Calculated data are added to geoDataForComputation
-        calculateMissingGeoData(network, neighboursBySubstationId, geoDataForComputation, substationsToCalculate);
-        calculateDefaultSubstationsGeoData(geoDataForComputation, neighboursBySubstationId);
+        SubstationGraph graph = graphBuilder.build();
+        SubstationGeoData[] substationsGeoData = new SubstationGeoData[graph.size()];
+        knownGeoData.forEach((id, geoData) -> {
+            int index = graph.indexOf(id);
+            if (index >= 0) {
+                substationsGeoData[index] = geoData;
+            }
+        });
+        boolean[] toCalculate = new boolean[graph.size()];
+        int[] order = new int[substationsToCalculate.size()];
+        for (int k = 0; k < order.length; k++) {
+            order[k] = graph.indexOf(substationsToCalculate.get(k));
+            toCalculate[order[k]] = true;
+        }
 
-        //We remove linked substations from result - we only want requested ones
-        geoDataForComputation.keySet().removeIf(key -> !substationIds.contains(key));
+        //Calculated data are added to substationsGeoData
+        calculateMissingGeoData(graph, order, substationsGeoData, toCalculate);
+        calculateDefaultSubstationsGeoData(graph, substationsGeoData, toCalculate);
+
+        //We only want requested substations in the result, found in the DB or computed
+        List<SubstationGeoData> result = new ArrayList<>();
+        for (String substationId : substationIds) {
+            int index = graph.indexOf(substationId);
+            SubstationGeoData geoData = index >= 0 ? substationsGeoData[index] : knownGeoData.get(substationId);
+            if (geoData != null) {
+                result.add(geoData);
+            }
+        }
 
-        LOGGER.info("Substations with given ids read/computed from DB in {} ms", stopWatch.getTime(TimeUnit.MILLISECONDS));
-        //We return geo data found in the DB and the computed ones
-        return geoDataForComputation.values().stream().toList();
+        LOGGER.info("Substations with given ids read/computed in {} ms", stopWatch.getTime(TimeUnit.MILLISECONDS));
+        return result;
     }
 
-    private void prepareGeoDataForComputation(Network network, Map<String, SubstationGeoData> geoDataForComputation, Map<String, Set<String>> neighboursBySubstationId,
-            Set<String> substationsToCalculate, Set<String> neighbours) {
-        Set<String> neighboursToBeTreated = new HashSet<>(neighbours);
-        while (!neighboursToBeTreated.isEmpty()) {
-            Map<String, SubstationGeoData> foundGeoData = substationRepository.findByIdIn(neighboursToBeTreated).stream()
-                    .map(SubstationEntity::toGeoData)
-                    .collect(Collectors.toMap(SubstationGeoData::getId, Function.identity()));
-
-            geoDataForComputation.putAll(foundGeoData);
-
-            Set<String> allNeighbours = new HashSet<>();
-
-            List<Substation> substations = new ArrayList<>();
+    /**
+     * explores the network from the given substations, breadth first, until reaching substations with a known position.
+     * The substations without position are added with their neighbours to the graph, in the order they are reached.
+     * The exploration stops at the configured maximum number of hops from the given substations, or once the configured
+     * number of substations with a known position has been found around them: the given substations with a known
+     * position are not counted, as they do not position the others. The known positions are read from the store, so a
+     * layer never needs a DB query.
+     */
+    private void prepareGeoDataForComputation(Network network, Map<String, SubstationGeoData> knownGeoData, SubstationGraph.Builder graphBuilder,
+                                              List<String> substationsToCalculate, Set<String> substationIds) {
+        Set<String> visited = new HashSet<>();
+        Set<String> neighboursToBeTreated = new LinkedHashSet<>(substationIds);
+        int anchors = 0;
+        for (int hops = 0; !neighboursToBeTreated.isEmpty(); hops++) {
+            neighboursToBeTreated.removeIf(id -> knownGeoData.containsKey(id) || visited.contains(id));
+            Map<String, SubstationGeoData> found = substationGeoDataStore.getByIds(neighboursToBeTreated);
+            knownGeoData.putAll(found);
+            if (hops > 0) {
+                anchors += found.size();
+            }
+            if (hops > substationsByIdsMaxHops || hops > 0 && anchors >= substationsByIdsMinAnchors) {
+                LOGGER.debug("Exploration stopped after {} hops, {} substations with a known position found", hops, anchors);
+                break;
+            }
 
-            neighboursToBeTreated.forEach(neighbourId -> {
-                if (geoDataForComputation.get(neighbourId) == null && !substationsToCalculate.contains(neighbourId)) {
+            Set<String> allNeighbours = new LinkedHashSet<>();
+            for (String neighbourId : neighboursToBeTreated) {
+                Substation substation = network.getSubstation(neighbourId);
+                if (!knownGeoData.containsKey(neighbourId) && visited.add(neighbourId) && substation != null) {
                     substationsToCalculate.add(neighbourId);
-                    substations.add(network.getSubstation(neighbourId));
+                    int firstEdge = graphBuilder.edgeCount();
+                    graphBuilder.addWithNeighbours(substation);
+                    for (int e = firstEdge; e < graphBuilder.edgeCount(); e++) {
+                        allNeighbours.add(graphBuilder.getId(graphBuilder.edgeTarget(e)));
+                    }
                 }
-            });
-            Map<String, Set<String>> newNeighbours = getNeighbours(substations);
-            substations.forEach(substation -> allNeighbours.addAll(newNeighbours.get(substation.getId())));
-            neighboursBySubstationId.putAll(newNeighbours);
+            }
             neighboursToBeTreated = allNeighbours;
         }
     }
 
-    private void calculateDefaultSubstationsGeoData(Map<String, SubstationGeoData> substationsGeoData, Map<String, Set<String>> sortedNeighbours) {
+    /**
+     * spreads on a spiral the substations piled up around the default position of each country. The positioned
+     * substations are indexed once by position, so that each default position only examines the substations around it.
+     * Only the first substations of a pile, up to the configured maximum cluster size, are spread: the next ones are
+     * left undecluttered, at their calculated position.
+     */
+    private void calculateDefaultSubstationsGeoData(SubstationGraph graph, SubstationGeoData[] substationsGeoData, boolean[] calculated) {
         StopWatch stopWatch = StopWatch.createStarted();
+        SubstationGridIndex gridIndex = new SubstationGridIndex();
+        for (int i = 0; i < substationsGeoData.length; i++) {
+            if (substationsGeoData[i] != null) {
+                gridIndex.add(i, substationsGeoData[i].getCoordinate());
+            }
+        }
+
         for (Map.Entry<String, SubstationGeoData> entry : defaultSubstationsGeoData.getEntrySet()) {
-            Set<String> clutteredSubstationsIds = substationsGeoData.values().stream()
-                .filter(substationGeoData -> isCompatible(substationGeoData, entry))
-                .map(SubstationGeoData::getId).collect(Collectors.toSet());
+            int[] candidates = gridIndex.getCandidates(entry.getValue().getCoordinate());
+            int[] clutteredSubstations = new int[candidates.length];
+            int clusterSize = 0;
+            for (int i : candidates) {
+                if (isCompatible(substationsGeoData[i], entry)) {
+                    clutteredSubstations[clusterSize++] = i;
+                }
+            }
 
-            if (clutteredSubstationsIds.size() > DefaultSubstationGeoParameter.DECLUTTERING_THRESHOLD) {
-                calculateDefaultSubstationGeoDataRecursively(substationsGeoData, clutteredSubstationsIds, new HashSet<>(clutteredSubstationsIds), new DefaultSubstationGeoParameter(0.0, 0.0,
-                        entry.getValue().getCoordinate()), sortedNeighbours);
+            if (clusterSize > DefaultSubstationGeoParameter.DECLUTTERING_THRESHOLD) {
+                if (clusterSize > declutterMaxClusterSize) {
+                    LOGGER.warn("{} substations around the default position of {}, only the first {} are decluttered", clusterSize, entry.getKey(), declutterMaxClusterSize);
+                    clusterSize = declutterMaxClusterSize;
+                }
+                clutteredSubstations = Arrays.copyOf(clutteredSubstations, clusterSize);
+                boolean[] remainingSubstations = new boolean[graph.size()];
+                for (int i : clutteredSubstations) {
+                    remainingSubstations[i] = true;
+                }
+                declutter(graph, substationsGeoData, gridIndex, calculated, clutteredSubstations, remainingSubstations,
+                        new DefaultSubstationGeoParameter(0.0, 0.0, entry.getValue().getCoordinate()));
             }
         }
         stopWatch.stop();
@@ -236,35 +337,106 @@ public class GeoDataService {
         return true;
     }
 
-    private DefaultSubstationGeoParameter calculateDefaultSubstationGeoDataRecursively(Map<String, SubstationGeoData> substationsGeoData, Set<String> substationsToProcess,
-            Set<String> remainingSubstations, DefaultSubstationGeoParameter initialGeoParameters, Map<String, Set<String>> sortedNeighbours) {
-        DefaultSubstationGeoParameter geoParameters = initialGeoParameters;
-        for (String substationToProcess : substationsToProcess) {
-            if (remainingSubstations.contains(substationToProcess)) {
-                substationsGeoData.get(substationToProcess).setCoordinate(geoParameters.getCurrentCoordinate());
-                remainingSubstations.remove(substationToProcess);
+    /**
+     * places the cluttered substations on the default spiral, in order, each calculated substation being followed by its
+     * remaining neighbours, which are then processed the same way, depth first. The neighbour lists being processed are
+     * kept in an explicit stack: as each substation is placed once, it is in at most one neighbour list, and the memory
+     * used is linear in the number of cluttered substations.
+     */
+    private static void declutter(SubstationGraph graph, SubstationGeoData[] substationsGeoData, SubstationGridIndex gridIndex, boolean[] calculated,
+                                  int[] clutteredSubstations, boolean[] remainingSubstations, DefaultSubstationGeoParameter geoParameters) {
+        int clusterSize = clutteredSubstations.length;
+        // the cluttered substations, followed by the neighbour lists
+        int[] lists = Arrays.copyOf(clutteredSubstations, 2 * clusterSize);
+        int listsEnd = clusterSize;
+        // stack of the lists being processed, as [cursor, end[ ranges in lists
+        int[] cursors = new int[clusterSize + 2];
+        int[] ends = new int[clusterSize + 2];
+        int depth = 0;
+        cursors[depth] = 0;
+        ends[depth++] = clusterSize;
+
+        while (depth > 0) {
+            int top = depth - 1;
+            if (cursors[top] == ends[top]) {
+                depth--;
+                continue;
+            }
+            int substationToProcess = lists[cursors[top]++];
+            if (remainingSubstations[substationToProcess]) {
+                moveSubstation(substationsGeoData, gridIndex, substationToProcess, geoParameters.getCurrentCoordinate());
+                remainingSubstations[substationToProcess] = false;
                 geoParameters.incrementDefaultSubstationGeoParameters();
             }
 
-            if (sortedNeighbours.get(substationToProcess) != null) {
-                Set<String> neighbours = sortedNeighbours.get(substationToProcess).stream()
-                        .filter(remainingSubstations::contains)
-                        .collect(Collectors.toSet());
-
-                for (String neighbour : neighbours) {
-                    substationsGeoData.get(neighbour).setCoordinate(geoParameters.getCurrentCoordinate());
-                    remainingSubstations.remove(neighbour);
-                    geoParameters.incrementDefaultSubstationGeoParameters();
+            if (calculated[substationToProcess]) {
+                int neighboursStart = listsEnd;
+                for (int k = graph.neighboursStart(substationToProcess); k < graph.neighboursEnd(substationToProcess); k++) {
+                    int neighbour = graph.neighbour(k);
+                    if (remainingSubstations[neighbour]) {
+                        moveSubstation(substationsGeoData, gridIndex, neighbour, geoParameters.getCurrentCoordinate());
+                        remainingSubstations[neighbour] = false;
+                        geoParameters.incrementDefaultSubstationGeoParameters();
+                        lists[listsEnd++] = neighbour;
+                    }
+                }
+                if (listsEnd > neighboursStart) {
+                    cursors[depth] = neighboursStart;
+                    ends[depth++] = listsEnd;
                 }
-                geoParameters = calculateDefaultSubstationGeoDataRecursively(substationsGeoData, neighbours, remainingSubstations, geoParameters, sortedNeighbours);
             }
         }
-        return geoParameters;
     }
 
-    private static int neighboursComparator(Network network, Set<String> neighbors1, Set<String> neighbors2) {
-        return neighbors2.stream().map(s -> network.getSubstation(s).getExtension(SubstationPosition.class)).filter(Objects::nonNull).collect(Collectors.toSet()).size() -
-                neighbors1.stream().map(s -> network.getSubstation(s).getExtension(SubstationPosition.class)).filter(Objects::nonNull).collect(Collectors.toSet()).size();
+    private static void moveSubstation(SubstationGeoData[] substationsGeoData, SubstationGridIndex gridIndex, int substation, Coordinate coordinate) {
+        gridIndex.move(substation, substationsGeoData[substation].getCoordinate(), coordinate);
+        substationsGeoData[substation].setCoordinate(coordinate);
+    }
+
+    /**
+     * returns the substations to calculate, ordered by decreasing number of neighbours having a known position in the
+     * network. The number of known neighbours of each substation is computed once and the substations are ordered with a
+     * stable counting sort on it.
+     */
+    static int[] sortByKnownNeighbours(SubstationGraph graph, boolean[] toCalculate) {
+        // the substation position extension is read once per substation
+        boolean[] knownPositions = new boolean[graph.size()];
+        for (int i = 0; i < graph.size(); i++) {
+            knownPositions[i] = graph.getSubstation(i).getExtension(SubstationPosition.class) != null;
+        }
+
+        int[] knownNeighbours = new int[graph.size()];
+        int maxKnownNeighbours = 0;
+        int count = 0;
+        for (int i = 0; i < graph.size(); i++) {
+            if (toCalculate[i]) {
+                for (int k = graph.neighboursStart(i); k < graph.neighboursEnd(i); k++) {
+                    if (knownPositions[graph.neighbour(k)]) {
+                        knownNeighbours[i]++;
+                    }
+                }
+                maxKnownNeighbours = Math.max(maxKnownNeighbours, knownNeighbours[i]);
+                count++;
+            }
+        }
+
+        // bucket b holds the substations with maxKnownNeighbours - b known neighbours
+        int[] bucketStarts = new int[maxKnownNeighbours + 2];
+        for (int i = 0; i < graph.size(); i++) {
+            if (toCalculate[i]) {
+                bucketStarts[maxKnownNeighbours - knownNeighbours[i] + 1]++;
+            }
+        }
+        for (int b = 1; b < bucketStarts.length; b++) {
+            bucketStarts[b] += bucketStarts[b - 1];
+        }
+        int[] sorted = new int[count];
+        for (int i = 0; i < graph.size(); i++) {
+            if (toCalculate[i]) {
+                sorted[bucketStarts[maxKnownNeighbours - knownNeighbours[i]]++] = i;
+            }
+        }
+        return sorted;
     }
 
     enum Step {
@@ -272,65 +444,253 @@ public class GeoDataService {
         TWO
     }
 
-    private void calculateMissingGeoData(Network network, Map<String, Set<String>> sortedNeighbours, Map<String, SubstationGeoData> substationsGeoData,
-                                         Set<String> substationsToCalculate) {
+    /**
+     * state of the calculation of the missing positions. The connected components of the substations to calculate being
+     * calculated independently, each of them only reads and writes the entries of its own substations and neighbourhoods.
+     */
+    private static final class MissingGeoDataCalculation {
+        private final SubstationGraph graph;
+        private final SubstationGeoData[] substationsGeoData;
+        // primitive copy of the positions, read by the centroid calculations
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final boolean[] remaining;
+        private final int[] positionedNeighbours;
+        private final boolean[] queued;
+        // offset of the last substation calculated in each neighbourhood, NaN if none
+        private final double[] neighbourhoodOffsets;
+
+        private MissingGeoDataCalculation(SubstationGraph graph, SubstationGeoData[] substationsGeoData, boolean[] toCalculate) {
+            this.graph = graph;
+            this.substationsGeoData = substationsGeoData;
+            latitudes = new double[graph.size()];
+            longitudes = new double[graph.size()];
+            for (int i = 0; i < substationsGeoData.length; i++) {
+                if (substationsGeoData[i] != null) {
+                    latitudes[i] = substationsGeoData[i].getCoordinate().getLatitude();
+                    longitudes[i] = substationsGeoData[i].getCoordinate().getLongitude();
+                }
+            }
+            remaining = toCalculate.clone();
+            positionedNeighbours = new int[graph.size()];
+            queued = new boolean[graph.size()];
+            neighbourhoodOffsets = new double[graph.neighbourhoodCount()];
+        }
+    }
+
+    private void calculateMissingGeoData(SubstationGraph graph, int[] order, SubstationGeoData[] substationsGeoData, boolean[] toCalculate) {
         StopWatch stopWatch = StopWatch.createStarted();
+        MissingGeoDataCalculation calculation = new MissingGeoDataCalculation(graph, substationsGeoData, toCalculate);
+
+        int[] calculated;
+        if (parallelLayout) {
+            List<int[]> components = getIndependentComponents(graph, order, toCalculate);
+            List<CompletableFuture<int[]>> futures = components.stream()
+                    .map(component -> layoutExecutionService.supplyAsync(() -> calculateMissingGeoData(calculation, component)))
+                    .toList();
+            calculated = futures.stream()
+                    .map(CompletableFuture::join)
+                    .reduce(new int[2], (c1, c2) -> new int[] {c1[0] + c2[0], c1[1] + c2[1]});
+            LOGGER.info("{} substations to calculate in {} independent components", order.length, components.size());
+        } else {
+            calculated = calculateMissingGeoData(calculation, order);
+        }
+
+        LOGGER.info("Step 1, {} substation's coordinates have been calculated, {} remains unknown", calculated[0], order.length - calculated[0]);
+        LOGGER.info("Step 2, {} substation's coordinates have been calculated, {} remains unknown", calculated[1], order.length - calculated[0] - calculated[1]);
+
+        stopWatch.stop();
+        LOGGER.info("Missing substation geo data calculated in {} ms", stopWatch.getTime(TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * calculates the positions of the given substations, and returns the number of substations calculated at each step.
+     */
+    private int[] calculateMissingGeoData(MissingGeoDataCalculation calculation, int[] order) {
         // STEP 1
-        step(Step.ONE, network, sortedNeighbours, substationsGeoData, substationsToCalculate);
+        int calculatedStepOne = step(Step.ONE, calculation, order);
 
         // STEP 2
-        if (!substationsToCalculate.isEmpty()) {
-            step(Step.TWO, network, sortedNeighbours, substationsGeoData, substationsToCalculate);
+        int calculatedStepTwo = calculatedStepOne < order.length ? step(Step.TWO, calculation, order) : 0;
+
+        return new int[] {calculatedStepOne, calculatedStepTwo};
+    }
+
+    /**
+     * partitions the substations to calculate in components that can be calculated independently, each one keeping the
+     * given order. Two substations to calculate are in the same component when they are neighbours, as the position of
+     * one depends on the other, or when they have the same neighbourhood, as they share the neighbourhood offset.
+     */
+    private static List<int[]> getIndependentComponents(SubstationGraph graph, int[] order, boolean[] toCalculate) {
+        // union find of the substations
+        int[] parents = new int[graph.size()];
+        for (int i : order) {
+            parents[i] = i;
+        }
+        int[] neighbourhoodSubstations = new int[graph.neighbourhoodCount()];
+        Arrays.fill(neighbourhoodSubstations, -1);
+        for (int i : order) {
+            for (int k = graph.neighboursStart(i); k < graph.neighboursEnd(i); k++) {
+                int neighbour = graph.neighbour(k);
+                if (toCalculate[neighbour]) {
+                    union(parents, i, neighbour);
+                }
+            }
+            int neighbourhood = graph.neighbourhoodId(i);
+            if (neighbourhoodSubstations[neighbourhood] < 0) {
+                neighbourhoodSubstations[neighbourhood] = i;
+            } else {
+                union(parents, i, neighbourhoodSubstations[neighbourhood]);
+            }
         }
 
-        stopWatch.stop();
-        LOGGER.info("Missing substation geo data calculated in {} ms", stopWatch.getTime(TimeUnit.MILLISECONDS));
+        // components in the order of their first substation, each one keeping the substations order
+        int[] componentIndexes = new int[graph.size()];
+        List<Integer> componentSizes = new ArrayList<>();
+        Arrays.fill(componentIndexes, -1);
+        for (int i : order) {
+            int root = find(parents, i);
+            if (componentIndexes[root] < 0) {
+                componentIndexes[root] = componentSizes.size();
+                componentSizes.add(0);
+            }
+            componentSizes.set(componentIndexes[root], componentSizes.get(componentIndexes[root]) + 1);
+        }
+        List<int[]> components = new ArrayList<>(componentSizes.size());
+        componentSizes.forEach(size -> components.add(new int[size]));
+        int[] filled = new int[components.size()];
+        for (int i : order) {
+            int component = componentIndexes[find(parents, i)];
+            components.get(component)[filled[component]++] = i;
+        }
+        return components;
+    }
+
+    private static int find(int[] parents, int i) {
+        int root = i;
+        while (parents[root] != root) {
+            parents[root] = parents[parents[root]];
+            root = parents[root];
+        }
+        return root;
+    }
+
+    private static void union(int[] parents, int i, int j) {
+        int rootI = find(parents, i);
+        int rootJ = find(parents, j);
+        if (rootI != rootJ) {
+            parents[Math.max(rootI, rootJ)] = Math.min(rootI, rootJ);
+        }
     }
 
     private double nextNeighborhoodOffset(double neighborhoodOffset) {
         return neighborhoodOffset > 0 ? (neighborhoodOffset * -1) : (neighborhoodOffset * -1) + CALCULATED_SUBSTATION_OFFSET;
     }
 
-    private void step(Step step, Network network, Map<String, Set<String>> sortedNeighbours, Map<String, SubstationGeoData> substationsGeoData,
-                      Set<String> substationsToCalculate) {
-
-        Map<Set<String>, Double> calculatedSubstationsOffset = new HashMap<>();
-        for (int iteration = 0; iteration < maxIterations; iteration++) {
-            int calculated = 0;
-            for (Iterator<String> it = substationsToCalculate.iterator(); it.hasNext();) {
-                String substationId = it.next();
-                Set<String> neighbours = sortedNeighbours.get(substationId);
-                double neighborhoodOffset = calculatedSubstationsOffset.get(neighbours) != null ? nextNeighborhoodOffset(calculatedSubstationsOffset.get(neighbours)) : 0;
+    /**
+     * Positions the substations to calculate from their positioned neighbours, until no more substation can be positioned.
+     * <p>
+     * At step ONE a substation needs at least 2 positioned neighbours, at step TWO a single positioned neighbour or a default
+     * position for its country is enough. A substation is only examined once it has enough positioned neighbours, and its
+     * dependents are examined again only when it gets positioned, so the step runs in O(substations + neighbourhood links).
+     * The substations are examined in the given order. Returns the number of substations calculated.
+     */
+    private int step(Step step, MissingGeoDataCalculation calculation, int[] order) {
+        int threshold = step == Step.ONE ? 2 : 1;
+        SubstationGraph graph = calculation.graph;
+        SubstationGeoData[] substationsGeoData = calculation.substationsGeoData;
+        boolean[] remaining = calculation.remaining;
+        int[] positionedNeighbours = calculation.positionedNeighbours;
+        boolean[] queued = calculation.queued;
+        double[] neighbourhoodOffsets = calculation.neighbourhoodOffsets;
+
+        // number of positioned neighbours of each substation to calculate. The substations to calculate being neighbours
+        // of each other in both directions, the dependents of a substation are its neighbours remaining to calculate.
+        for (int i : order) {
+            if (remaining[i]) {
+                positionedNeighbours[i] = 0;
+                for (int k = graph.neighboursStart(i); k < graph.neighboursEnd(i); k++) {
+                    if (substationsGeoData[graph.neighbour(k)] != null) {
+                        positionedNeighbours[i]++;
+                    }
+                }
+                queued[i] = false;
+                neighbourhoodOffsets[graph.neighbourhoodId(i)] = Double.NaN;
+            }
+        }
 
-                // centroid calculation
-                Substation substation = network.getSubstation(substationId);
-                SubstationGeoData substationGeoData = calculateCentroidGeoData(substation, neighbours, step, substationsGeoData, neighborhoodOffset);
+        IntQueue worklist = new IntQueue(order.length);
+        for (int i : order) {
+            if (remaining[i] && (positionedNeighbours[i] >= threshold || step == Step.TWO && hasDefaultGeoData(graph.getCountry(i)))) {
+                worklist.add(i);
+                queued[i] = true;
+            }
+        }
 
-                if (substationGeoData != null) {
-                    calculated++;
-                    substationsGeoData.put(substationId, substationGeoData);
-                    calculatedSubstationsOffset.put(neighbours, neighborhoodOffset);
-                    it.remove();
+        CoordinateAccumulator neighboursCoordinates = new CoordinateAccumulator();
+        int calculated = 0;
+        while (!worklist.isEmpty()) {
+            int substation = worklist.poll();
+            int neighbourhood = graph.neighbourhoodId(substation);
+            double previousOffset = neighbourhoodOffsets[neighbourhood];
+            double neighborhoodOffset = !Double.isNaN(previousOffset) ? nextNeighborhoodOffset(previousOffset) : 0;
+
+            // centroid calculation
+            SubstationGeoData substationGeoData = calculateCentroidGeoData(graph, substation, step, substationsGeoData, calculation.latitudes, calculation.longitudes,
+                    neighboursCoordinates, neighborhoodOffset);
+
+            if (substationGeoData != null) {
+                calculated++;
+                substationsGeoData[substation] = substationGeoData;
+                calculation.latitudes[substation] = substationGeoData.getCoordinate().getLatitude();
+                calculation.longitudes[substation] = substationGeoData.getCoordinate().getLongitude();
+                neighbourhoodOffsets[neighbourhood] = neighborhoodOffset;
+                remaining[substation] = false;
+
+                // the dependents reaching the threshold can now be positioned
+                for (int k = graph.neighboursStart(substation); k < graph.neighboursEnd(substation); k++) {
+                    int dependent = graph.neighbour(k);
+                    if (remaining[dependent] && ++positionedNeighbours[dependent] >= threshold && !queued[dependent]) {
+                        queued[dependent] = true;
+                        worklist.add(dependent);
+                    }
                 }
             }
-            LOGGER.info("Step {}, iteration {}, {} substation's coordinates have been calculated, {} remains unknown",
-                    step == Step.ONE ? 1 : 2, iteration, calculated, substationsToCalculate.size());
-            if (calculated == 0) {
-                break;
-            }
         }
+        return calculated;
     }
 
-    private static Coordinate getAverageCoordinate(List<SubstationGeoData> neighboursGeoData, double neighborhoodOffset) {
-        double lat = neighboursGeoData.stream().mapToDouble(n -> n.getCoordinate().getLatitude()).average().orElseThrow(IllegalStateException::new);
-        double lon = neighboursGeoData.stream().mapToDouble(n -> n.getCoordinate().getLongitude()).average().orElseThrow(IllegalStateException::new);
+    /**
+     * minimal FIFO queue of substation indexes, each substation being queued at most once.
+     */
+    private static final class IntQueue {
+        private final int[] elements;
+        private int head;
+        private int tail;
 
-        if (neighborhoodOffset != 0) {
-            double latDifference = neighboursGeoData.stream().mapToDouble(n -> n.getCoordinate().getLatitude()).max().orElseThrow(IllegalStateException::new) - neighboursGeoData.stream().mapToDouble(
-                    n -> n.getCoordinate().getLatitude()).min().orElseThrow(IllegalStateException::new);
-            double lonDifference = neighboursGeoData.stream().mapToDouble(n -> n.getCoordinate().getLongitude()).max().orElseThrow(IllegalStateException::new) - neighboursGeoData.stream(
-                    ).mapToDouble(n -> n.getCoordinate().getLongitude()).min().orElseThrow(IllegalStateException::new);
+        IntQueue(int capacity) {
+            elements = new int[capacity];
+        }
 
+        void add(int element) {
+            elements[tail++] = element;
+        }
+
+        int poll() {
+            return elements[head++];
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+    }
+
+    private boolean hasDefaultGeoData(Country country) {
+        return country != null && defaultSubstationsGeoData.get(country.name()) != null;
+    }
+
+    private static Coordinate getAverageCoordinate(double lat, double lon, double latDifference, double lonDifference, double neighborhoodOffset) {
+        if (neighborhoodOffset != 0) {
             if (latDifference > lonDifference) {
                 lon += neighborhoodOffset;
             } else {
@@ -340,103 +700,304 @@ public class GeoDataService {
         return new Coordinate(lat, lon);
     }
 
-    private SubstationGeoData calculateCentroidGeoData(Substation substation, Set<String> neighbours, Step step,
-                                                              Map<String, SubstationGeoData> substationsGeoData, double neighborhoodOffset) {
+    /**
+     * calculates the position of a substation from its positioned neighbours, accumulated in a single pass over the
+     * primitive positions with the given reusable accumulator.
+     */
+    private SubstationGeoData calculateCentroidGeoData(SubstationGraph graph, int substationIndex, Step step, SubstationGeoData[] substationsGeoData,
+                                                       double[] latitudes, double[] longitudes, CoordinateAccumulator neighboursCoordinates,
+                                                       double neighborhoodOffset) {
+        Country substationCountry = graph.getCountry(substationIndex);
+
         // get neighbours geo data
-        List<SubstationGeoData> neighboursGeoData = neighbours.stream().map(substationsGeoData::get)
-                .filter(Objects::nonNull)
-                .toList();
+        neighboursCoordinates.reset();
+        boolean neighbourInSameCountry = false;
+        for (int k = graph.neighboursStart(substationIndex); k < graph.neighboursEnd(substationIndex); k++) {
+            int neighbour = graph.neighbour(k);
+            if (substationsGeoData[neighbour] != null) {
+                neighboursCoordinates.add(latitudes[neighbour], longitudes[neighbour]);
+                neighbourInSameCountry |= substationsGeoData[neighbour].getCountry() == substationCountry;
+            }
+        }
 
-        String substationCountry = substation.getNullableCountry() != null ? substation.getNullableCountry().name() : null;
-        SubstationGeoData defaultSubstationGeoData = defaultSubstationsGeoData.get(substationCountry);
+        SubstationGeoData defaultSubstationGeoData = defaultSubstationsGeoData.get(substationCountry != null ? substationCountry.name() : null);
 
         Coordinate coordinate = null;
-        if (neighboursGeoData.size() > 1) {
+        int neighboursCount = neighboursCoordinates.count();
+        if (neighboursCount > 1) {
             // if no neighbour found in the same country, locate the substation to a default position in its country
-            if (neighboursGeoData.stream().noneMatch(n -> Objects.equals(n.getCountry(), substation.getNullableCountry())) &&
-                    defaultSubstationGeoData != null) {
-                neighboursGeoData = Collections.singletonList(defaultSubstationGeoData);
+            if (!neighbourInSameCountry && defaultSubstationGeoData != null) {
+                coordinate = getAverageCoordinate(defaultSubstationGeoData.getCoordinate().getLatitude(), defaultSubstationGeoData.getCoordinate().getLongitude(),
+                        0, 0, neighborhoodOffset);
+            } else {
+                coordinate = getAverageCoordinate(neighboursCoordinates.averageLatitude(), neighboursCoordinates.averageLongitude(),
+                        neighboursCoordinates.latitudeRange(), neighboursCoordinates.longitudeRange(), neighborhoodOffset);
             }
-            coordinate = getAverageCoordinate(neighboursGeoData, neighborhoodOffset);
-        } else if (neighboursGeoData.size() == 1 && step == Step.TWO) {
+        } else if (neighboursCount == 1 && step == Step.TWO) {
             // if neighbour not in the same country, locate the substation to a default position in its country
-            if (!Objects.equals(neighboursGeoData.get(0).getCountry(), substation.getNullableCountry()) && defaultSubstationGeoData != null) {
+            if (!neighbourInSameCountry && defaultSubstationGeoData != null) {
                 coordinate = defaultSubstationGeoData.getCoordinate();
             } else {
-                double lat = neighboursGeoData.get(0).getCoordinate().getLatitude() - 0.002; // 1° correspond à 111KM
-                double lon = neighboursGeoData.get(0).getCoordinate().getLongitude() - 0.007; // 1° correspond à 111.11 cos(1) = 60KM
+                double lat = neighboursCoordinates.averageLatitude() - 0.002; // 1° correspond à 111KM
+                double lon = neighboursCoordinates.averageLongitude() - 0.007; // 1° correspond à 111.11 cos(1) = 60KM
                 coordinate = new Coordinate(lat, lon);
             }
-        } else if (neighboursGeoData.isEmpty() && step == Step.TWO && defaultSubstationGeoData != null) {
+        } else if (neighboursCount == 0 && step == Step.TWO && defaultSubstationGeoData != null) {
             // if still no neighbour found at step TWO, try to locate the substation to a default position in its country
             coordinate = defaultSubstationGeoData.getCoordinate();
         }
 
-        Country country = substation.getCountry().orElse(null);
-        return coordinate != null ? new SubstationGeoData(substation.getId(), country, coordinate) : null;
+        return coordinate != null ? new SubstationGeoData(graph.getId(substationIndex), substationCountry, coordinate) : null;
     }
 
-    private static Map<String, Set<String>> getNeighbours(List<Substation> substations) {
+    private static SubstationGraph getGraph(List<Substation> substations) {
         StopWatch stopWatch = StopWatch.createStarted();
 
-        Map<String, Set<String>> neighbours = new HashMap<>();
-        for (Substation s : substations) {
-            neighbours.put(s.getId(), new HashSet<>());
-        }
-
-        for (Substation s : substations) {
-            for (VoltageLevel vl : s.getVoltageLevels()) {
-                for (Line line : vl.getConnectables(Line.class)) {
-                    Substation s1 = line.getTerminal1().getVoltageLevel().getSubstation().orElseThrow(); // TODO
-                    Substation s2 = line.getTerminal2().getVoltageLevel().getSubstation().orElseThrow(); // TODO
-                    if (s1 != s) {
-                        neighbours.get(s.getId()).add(s1.getId());
-                    } else if (s2 != s) {
-                        neighbours.get(s.getId()).add(s2.getId());
-                    }
-                }
-            }
-        }
+        SubstationGraph graph = SubstationGraph.of(substations);
 
         LOGGER.info("Neighbours calculated in {} ms", stopWatch.getTime(TimeUnit.MILLISECONDS));
 
-        return neighbours;
+        return graph;
+    }
+
+    ImportReport saveSubstations(List<SubstationGeoData> substationsGeoData) {
+        return saveSubstations(substationsGeoData, false);
     }
 
+    /**
+     * Saves the given substations, only the new substations and the ones whose content has changed are written.
+     * With a full sync, the substations which are not in the given ones are deleted in the same transaction.
+     */
     @SuppressWarnings("javasecurity:S5145")
-    void saveSubstations(List<SubstationGeoData> substationsGeoData) {
+    ImportReport saveSubstations(List<SubstationGeoData> substationsGeoData, boolean fullSync) {
         LOGGER.info("Saving {} substations geo data", substationsGeoData.size());
 
         List<SubstationEntity> substationEntities = substationsGeoData.stream().map(s -> SubstationEntity.create(s, geoDataRoundPrecision)).toList();
-        substationRepository.saveAll(substationEntities);
+        BulkWriteResult result;
+        int deleted = 0;
+        if (fullSync) {
+            BulkSyncResult syncResult = substationRepository.syncAll(substationEntities);
+            result = syncResult.written();
+            deleted = syncResult.deleted();
+        } else {
+            result = substationRepository.upsertAll(substationEntities);
+        }
+        if (deleted > 0) {
+            substationGeoDataStore.refresh();
+        } else if (result.written() > 0) {
+            substationGeoDataStore.putAll(substationEntities);
+        }
+        if (deleted > 0) {
+            substationLayoutCache.invalidateAll();
+            viewportIndexCache.invalidateAll();
+            vectorTileCache.invalidateAll();
+        } else if (result.written() > 0) {
+            invalidateCaches(substationEntities.stream().map(SubstationEntity::getId).collect(Collectors.toSet()), Set.of());
+        }
+
+        ImportReport report = toReport(result, deleted);
+        LOGGER.info("Substations geo data saved: {}", report);
+        return report;
     }
 
     @SuppressWarnings("javasecurity:S5145")
-    void saveLines(List<LineGeoData> linesGeoData) {
+    ImportReport saveLines(List<LineGeoData> linesGeoData) {
         LOGGER.info("Saving {} lines geo data", linesGeoData.size());
 
-        try {
-            List<LineEntity> linesEntities = new ArrayList<>(linesGeoData.size());
-            for (LineGeoData l : linesGeoData) {
-                List<Coordinate> fullCoordinates = Objects.requireNonNull(l.getCoordinates());
-                // round the coordinates
-                List<Coordinate> roundedCoordinates = fullCoordinates.stream().map(coordinate ->
-                    new Coordinate(Precision.round(coordinate.getLatitude(), geoDataRoundPrecision),
-                        Precision.round(coordinate.getLongitude(), geoDataRoundPrecision))).toList();
-                String jsonCoords = mapper.writeValueAsString(roundedCoordinates);
-                if (l.getCountry1() == l.getCountry2()) {
-                    linesEntities.add(LineEntity.create(l, true, jsonCoords));
-                } else {
-                    linesEntities.add(LineEntity.create(l, true, jsonCoords));
-                    linesEntities.add(LineEntity.create(l, false, jsonCoords));
+        List<LineEntity> batch = new ArrayList<>();
+        BulkWriteResult result = BulkWriteResult.EMPTY;
+        for (LineGeoData l : linesGeoData) {
+            addLine(batch, l);
+            // both sides of a line are in the same batch, so that the line is counted once
+            if (batch.size() >= bulkWriteBatchSize) {
+                result = result.plus(upsertLines(batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            result = result.plus(upsertLines(batch));
+        }
+
+        ImportReport report = toReport(result, 0);
+        LOGGER.info("Lines geo data saved: {}", report);
+        return report;
+    }
+
+    /**
+     * Saves the lines of the given JSON array as they are read, by batches of lines written in their own transaction,
+     * so that the memory used doesn't depend on the number of lines. The lines of the batches written before an
+     * error are kept, and reported by the {@link LinesImportException} thrown on invalid lines. Only the new lines and
+     * the ones whose content has changed are written.
+     * <p>
+     * With a full sync, all the batches are written in a single transaction, in which the lines which are not in the
+     * given ones are deleted once all the lines have been read: nothing is kept on error.
+     */
+    ImportReport saveLines(InputStream linesGeoData, boolean fullSync) throws IOException {
+        return saveLines(linesGeoData, fullSync, readLines -> { });
+    }
+
+    /**
+     * Same as {@link #saveLines(InputStream, boolean)}, the given progress listener is called with the number of
+     * read lines after each line. The import is stopped by an exception thrown by the listener.
+     */
+    @SuppressWarnings("javasecurity:S5145")
+    ImportReport saveLines(InputStream linesGeoData, boolean fullSync, IntConsumer progressListener) throws IOException {
+        LOGGER.info("Saving lines geo data");
+
+        StopWatch stopWatch = StopWatch.createStarted();
+        BulkWriteResult result = BulkWriteResult.EMPTY;
+        int deleted = 0;
+        try (JsonParser parser = mapper.createParser(linesGeoData)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Start array of lines expected");
+            }
+            LineBatches batches = new LineBatches(parser, progressListener);
+            if (fullSync) {
+                BulkSyncResult syncResult = lineRepository.syncAll(batches);
+                result = syncResult.written();
+                deleted = syncResult.deleted();
+                if (result.written() > 0 || deleted > 0) {
+                    viewportIndexCache.invalidateAll();
+                    vectorTileCache.invalidateAll();
+                }
+            } else {
+                while (batches.hasNext()) {
+                    result = result.plus(upsertLines(batches.next()));
                 }
             }
-            lineRepository.saveAll(linesEntities);
+        } catch (UncheckedIOException e) {
+            if (e.getCause() instanceof JsonProcessingException jsonError) {
+                throw toImportException(jsonError, fullSync, result);
+            }
+            throw e.getCause();
+        } catch (JsonProcessingException e) {
+            throw toImportException(e, fullSync, result);
+        }
+
+        ImportReport report = toReport(result, deleted);
+        LOGGER.info("Lines geo data saved in {} ms: {}", stopWatch.getTime(TimeUnit.MILLISECONDS), report);
+        return report;
+    }
+
+    /**
+     * The lines written before the error are reported, except with a full sync whose transaction is rolled back.
+     */
+    private static LinesImportException toImportException(JsonProcessingException e, boolean fullSync, BulkWriteResult written) {
+        ImportReport report = toReport(fullSync ? BulkWriteResult.EMPTY : written, 0);
+        LOGGER.warn("Invalid lines geo data, lines saved before the error: {}", report);
+        return new LinesImportException(e, report);
+    }
+
+    /**
+     * Batches of line entities read from a JSON array of lines, after its start. Both sides of a line are in the same
+     * batch, so that the line is counted once. The read errors are thrown as {@link UncheckedIOException}.
+     */
+    private final class LineBatches implements Iterator<List<LineEntity>> {
+
+        private final JsonParser parser;
+
+        private final IntConsumer progressListener;
+
+        private int readLines;
+
+        // next token, null if not read yet
+        private JsonToken token;
+
+        private LineBatches(JsonParser parser, IntConsumer progressListener) {
+            this.parser = parser;
+            this.progressListener = progressListener;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                if (token == null) {
+                    token = parser.nextToken();
+                    if (token == null) {
+                        throw new JsonParseException(parser, "Unexpected end of lines");
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return token != JsonToken.END_ARRAY;
+        }
+
+        @Override
+        public List<LineEntity> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<LineEntity> batch = new ArrayList<>();
+            do {
+                try {
+                    addLine(batch, mapper.readValue(parser, LineGeoData.class));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                token = null;
+                progressListener.accept(++readLines);
+            } while (batch.size() < bulkWriteBatchSize && hasNext());
+            return batch;
+        }
+    }
+
+    private void addLine(List<LineEntity> batch, LineGeoData l) {
+        try {
+            List<Coordinate> fullCoordinates = Objects.requireNonNull(l.getCoordinates());
+            // round the coordinates
+            List<Coordinate> roundedCoordinates = fullCoordinates.stream().map(coordinate ->
+                new Coordinate(DecimalRounding.round(coordinate.getLatitude(), geoDataRoundPrecision),
+                    DecimalRounding.round(coordinate.getLongitude(), geoDataRoundPrecision))).toList();
+            // the JSON format is kept for the coordinates that the binary format can't represent exactly
+            byte[] binaryCoords = LineCoordinatesCodec.encode(roundedCoordinates, geoDataRoundPrecision);
+            String jsonCoords = binaryCoords == null ? mapper.writeValueAsString(roundedCoordinates) : null;
+            byte[] simplifiedCoords = binaryCoords != null ? LineSimplifier.encodeLevels(roundedCoordinates, simplificationTolerances, geoDataRoundPrecision) : null;
+            if (l.getCountry1() == l.getCountry2()) {
+                batch.add(LineEntity.create(l, true, jsonCoords, binaryCoords, simplifiedCoords));
+            } else {
+                batch.add(LineEntity.create(l, true, jsonCoords, binaryCoords, simplifiedCoords));
+                batch.add(LineEntity.create(l, false, jsonCoords, binaryCoords, simplifiedCoords));
+            }
         } catch (JsonProcessingException e) {
             throw new UncheckedIOException("Parsing error", e);
         }
     }
 
+    /**
+     * upserts the given lines in their own transaction, then invalidates the cached viewport indexes and tiles of the
+     * network variants containing the lines if some have been written.
+     */
+    private BulkWriteResult upsertLines(List<LineEntity> lines) {
+        BulkWriteResult result = lineRepository.upsertAll(lines);
+        if (result.written() > 0) {
+            invalidateCaches(Set.of(), lines.stream().map(LineEntity::getId).collect(Collectors.toSet()));
+        }
+        return result;
+    }
+
+    /**
+     * invalidates the cached layouts, viewport indexes and tiles of the network variants containing one of the given
+     * substations or lines. The layouts are only invalidated for substations. The variants whose viewport index is not
+     * cached are invalidated, as their substations and lines are not known.
+     */
+    private void invalidateCaches(Set<String> substationIds, Set<String> lineIds) {
+        Set<ViewportIndexCache.Key> keptKeys = viewportIndexCache.invalidate(substationIds, lineIds);
+        if (!substationIds.isEmpty()) {
+            substationLayoutCache.invalidateIf(key -> !keptKeys.contains(new ViewportIndexCache.Key(key.networkUuid(), key.variantId())));
+        }
+        vectorTileCache.invalidateIf(key -> !keptKeys.contains(new ViewportIndexCache.Key(key.networkUuid(), key.variantId())));
+    }
+
+    private static ImportReport toReport(BulkWriteResult result, int deleted) {
+        return ImportReport.builder()
+            .inserted(result.inserted())
+            .updated(result.updated())
+            .unchanged(result.unchanged())
+            .deleted(deleted)
+            .build();
+    }
+
     boolean emptyOrEquals(String emptyable, String s) {
         return emptyable.isEmpty() || s.equals(emptyable);
     }
@@ -503,6 +1064,14 @@ public class GeoDataService {
     }
 
     List<LineGeoData> getLinesByCountries(Network network, Set<Country> countries) {
+        return getLinesByCountries(null, network, countries, 0);
+    }
+
+    List<LineGeoData> getLinesByCountries(Network network, Set<Country> countries, double tolerance) {
+        return getLinesByCountries(null, network, countries, tolerance);
+    }
+
+    private List<LineGeoData> getLinesByCountries(UUID networkUuid, Network network, Set<Country> countries, double tolerance) {
         LOGGER.info("Loading lines geo data for countries {} of network '{}'", countries, network.getId());
 
         Objects.requireNonNull(network);
@@ -510,32 +1079,96 @@ public class GeoDataService {
 
         StopWatch stopWatch = StopWatch.createStarted();
 
-        // read lines from DB
-        Map<String, Pair<Substation, Substation>> mapSubstationsByLine =
-                Streams.concat(network.getLineStream(), network.getTieLineStream(), network.getHvdcLineStream())
-                        .collect(Collectors.toMap(Identifiable::getId, this::getSubstations));
-
-        Map<String, LineGeoData> linesGeoDataDb = lineRepository.findAllById(mapSubstationsByLine.keySet()).stream().collect(Collectors.toMap(LineEntity::getId, this::toDto));
+        Map<String, Pair<Substation, Substation>> mapSubstationsByLine = getSubstationsByLine(network, countries);
+        Map<String, LineGeoData> linesGeoDataDb = readLinesGeoData(mapSubstationsByLine, countries, tolerance);
 
         // we also want the destination substation (so we add the neighbouring country)
-        Set<Country> countryAndNextTo = mapSubstationsByLine.entrySet().stream().flatMap(entry ->
-             Stream.of(entry.getValue().getLeft(), entry.getValue().getRight()).map(Substation::getNullableCountry).filter(Objects::nonNull)).collect(Collectors.toSet());
+        Map<String, SubstationGeoData> substationGeoDataDb = getSubstationMapByCountries(networkUuid, network, getEndCountries(mapSubstationsByLine));
+        List<LineGeoData> geoData = getLinesGeoData(mapSubstationsByLine, linesGeoDataDb, substationGeoDataDb);
 
-        Map<String, SubstationGeoData> substationGeoDataDb = getSubstationMapByCountries(network, countryAndNextTo);
-        List<LineGeoData> geoData = new ArrayList<>();
+        LOGGER.info("{} lines read from DB in {} ms", linesGeoDataDb.size(), stopWatch.getTime(TimeUnit.MILLISECONDS));
+
+        return geoData;
+    }
+
+    /**
+     * returns the substations and lines geo data of the given countries, computing the substations layout once for both.
+     * The layout includes the countries next to the requested ones, so that the cross-border lines are complete, and the
+     * substations returned are the ones of the requested countries.
+     */
+    NetworkGeoData getNetworkGeoDataByCountries(UUID networkUuid, Network network, Set<Country> countries) {
+        LOGGER.info("Loading substations and lines geo data for countries {} of network '{}'", countries, network.getId());
+
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(countries);
+
+        StopWatch stopWatch = StopWatch.createStarted();
+
+        Map<String, Pair<Substation, Substation>> mapSubstationsByLine = getSubstationsByLine(network, countries);
+        Set<Country> layoutCountries = new HashSet<>();
+        if (!countries.isEmpty()) {
+            layoutCountries.addAll(countries);
+            layoutCountries.addAll(getEndCountries(mapSubstationsByLine));
+        }
+        List<SubstationGeoData> layout = getSubstationsByCountries(networkUuid, network, layoutCountries);
+
+        Map<String, SubstationGeoData> substationGeoDataDb = layout.stream().collect(Collectors.toMap(SubstationGeoData::getId, Function.identity()));
+        List<LineGeoData> lines = getLinesGeoData(mapSubstationsByLine, readLinesGeoData(mapSubstationsByLine, countries, 0), substationGeoDataDb);
+        List<SubstationGeoData> substations = countries.isEmpty() ? layout
+                : layout.stream().filter(substation -> countries.contains(substation.getCountry())).toList();
+
+        LOGGER.info("{} substations and {} lines geo data computed in {} ms", substations.size(), lines.size(), stopWatch.getTime(TimeUnit.MILLISECONDS));
+
+        return new NetworkGeoData(substations, lines);
+    }
+
+    /**
+     * returns the end substations of the lines, tie lines and HVDC lines with at least one end in the given countries.
+     */
+    private Map<String, Pair<Substation, Substation>> getSubstationsByLine(Network network, Set<Country> countries) {
+        Map<String, Pair<Substation, Substation>> mapSubstationsByLine = new HashMap<>();
+        Streams.concat(network.getLineStream(), network.getTieLineStream(), network.getHvdcLineStream()).forEach(line -> {
+            Pair<Substation, Substation> substations = getSubstations(line);
+            if (countries.isEmpty() || isInCountries(substations.getLeft(), countries) || isInCountries(substations.getRight(), countries)) {
+                mapSubstationsByLine.put(line.getId(), substations);
+            }
+        });
+        return mapSubstationsByLine;
+    }
+
+    private Map<String, LineGeoData> readLinesGeoData(Map<String, Pair<Substation, Substation>> mapSubstationsByLine, Set<Country> countries, double tolerance) {
+        List<LineEntity> lineEntities = countries.isEmpty()
+                ? lineRepository.findAllById(mapSubstationsByLine.keySet())
+                : lineRepository.findByCountryInOrOtherCountryIn(countries.stream().map(Country::name).toList());
+        return lineEntities.stream()
+                .filter(lineEntity -> mapSubstationsByLine.containsKey(lineEntity.getId()))
+                .collect(Collectors.toMap(LineEntity::getId, lineEntity -> toDto(lineEntity, tolerance)));
+    }
 
+    private static Set<Country> getEndCountries(Map<String, Pair<Substation, Substation>> mapSubstationsByLine) {
+        return mapSubstationsByLine.values().stream()
+                .flatMap(substations -> Stream.of(substations.getLeft(), substations.getRight()))
+                .map(Substation::getNullableCountry)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private List<LineGeoData> getLinesGeoData(Map<String, Pair<Substation, Substation>> mapSubstationsByLine, Map<String, LineGeoData> linesGeoDataDb,
+                                              Map<String, SubstationGeoData> substationGeoDataDb) {
+        List<LineGeoData> geoData = new ArrayList<>();
         mapSubstationsByLine.forEach((key, value) -> {
             LineGeoData geo = getLineGeoDataWithEndSubstations(linesGeoDataDb, substationGeoDataDb, key, value.getLeft(), value.getRight());
             if (geo != null) {
                 geoData.add(geo);
             }
         });
-
-        LOGGER.info("{} lines read from DB in {} ms", linesGeoDataDb.size(), stopWatch.getTime(TimeUnit.MILLISECONDS));
-
         return geoData;
     }
 
+    private static boolean isInCountries(Substation substation, Set<Country> countries) {
+        return substation.getCountry().filter(countries::contains).isPresent();
+    }
+
     private Pair<Substation, Substation> getSubstations(Identifiable<?> identifiable) {
         return switch (identifiable.getType()) {
             case LINE -> Pair.of(((Line) identifiable).getTerminal1().getVoltageLevel().getSubstation().orElseThrow(),
@@ -550,7 +1183,7 @@ public class GeoDataService {
         };
     }
 
-    public CompletableFuture<List<SubstationGeoData>> getSubstationsData(Network network, Set<Country> countrySet, List<String> substationIds) {
+    public CompletableFuture<List<SubstationGeoData>> getSubstationsData(UUID networkUuid, Network network, Set<Country> countrySet, List<String> substationIds) {
         return geoDataExecutionService.supplyAsync(() -> {
             if (substationIds != null) {
                 if (!countrySet.isEmpty()) {
@@ -558,25 +1191,184 @@ public class GeoDataService {
                 }
                 return getSubstationsByIds(network, new HashSet<>(substationIds));
             } else {
-                return getSubstationsByCountries(network, countrySet);
+                return getSubstationsByCountries(networkUuid, network, countrySet);
             }
         });
     }
 
-    public CompletableFuture<List<LineGeoData>> getLinesData(Network network, Set<Country> countrySet, List<String> lineIds) {
+    /**
+     * returns the lines geo data, simplified with the given tolerance in degrees when it's strictly positive.
+     */
+    public CompletableFuture<List<LineGeoData>> getLinesData(UUID networkUuid, Network network, Set<Country> countrySet, List<String> lineIds, double tolerance) {
         return geoDataExecutionService.supplyAsync(() -> {
             if (lineIds != null) {
                 if (!countrySet.isEmpty()) {
                     LOGGER.warn("Countries will not be taken into account to filter line position.");
                 }
-                return getLinesByIds(network, new HashSet<>(lineIds));
+                return getLinesByIds(network, new HashSet<>(lineIds), tolerance);
             } else {
-                return getLinesByCountries(network, countrySet);
+                return getLinesByCountries(networkUuid, network, countrySet, tolerance);
             }
         });
     }
 
+    public CompletableFuture<List<EncodedLineGeoData>> getEncodedLinesData(UUID networkUuid, Network network, Set<Country> countrySet, List<String> lineIds,
+                                                                          double tolerance) {
+        return getLinesData(networkUuid, network, countrySet, lineIds, tolerance).thenApply(this::encodeLines);
+    }
+
+    /**
+     * returns the simplification tolerance in degrees, the given one or else the size of a pixel at the given zoom
+     * level of a web map (tiles of 256 pixels), or 0 when none is given.
+     */
+    public static double getTolerance(Integer zoom, Double tolerance) {
+        if (tolerance != null) {
+            return tolerance;
+        }
+        return zoom != null ? 360 / (256 * Math.pow(2, zoom)) : 0;
+    }
+
+    List<EncodedLineGeoData> encodeLines(List<LineGeoData> linesGeoData) {
+        return linesGeoData.stream().map(l -> new EncodedLineGeoData(l.getId(), l.getCountry1(), l.getCountry2(), l.getSubstationStart(),
+            l.getSubstationEnd(), geoDataRoundPrecision, PolylineEncoder.encode(l.getCoordinates(), geoDataRoundPrecision))).toList();
+    }
+
+    /**
+     * returns the viewport index of the network working variant, from the cache if already built.
+     * The index is not cached when the network uuid is unknown.
+     */
+    private ViewportIndex getViewportIndex(UUID networkUuid, Network network) {
+        if (networkUuid == null) {
+            return buildViewportIndex(networkUuid, network);
+        }
+        ViewportIndexCache.Key key = new ViewportIndexCache.Key(networkUuid, network.getVariantManager().getWorkingVariantId());
+        return viewportIndexCache.get(key, () -> buildViewportIndex(networkUuid, network));
+    }
+
+    private ViewportIndex buildViewportIndex(UUID networkUuid, Network network) {
+        StopWatch stopWatch = StopWatch.createStarted();
+
+        List<SubstationGeoData> layout = getSubstationsByCountries(networkUuid, network, Set.of());
+        Map<String, Pair<Substation, Substation>> mapSubstationsByLine = getSubstationsByLine(network, Set.of());
+        Map<String, BoundingBox> storedBoundingBoxes = new HashMap<>();
+        for (LineBoundingBox line : lineRepository.findAllProjectedBy()) {
+            if (line.getMinLatitude() != null && mapSubstationsByLine.containsKey(line.getId())) {
+                storedBoundingBoxes.put(line.getId(), new BoundingBox(line.getMinLatitude(), line.getMinLongitude(),
+                    line.getMaxLatitude(), line.getMaxLongitude()));
+            }
+        }
+        List<ViewportIndex.IndexedLine> lines = mapSubstationsByLine.entrySet().stream()
+            .map(e -> new ViewportIndex.IndexedLine(e.getKey(), e.getValue().getLeft().getId(), e.getValue().getRight().getId(),
+                storedBoundingBoxes.get(e.getKey())))
+            .toList();
+        Set<String> substationIds = network.getSubstationStream().map(Identifiable::getId).collect(Collectors.toSet());
+        ViewportIndex index = new ViewportIndex(layout, substationIds, lines);
+
+        LOGGER.info("Viewport index of network '{}' built in {} ms", network.getId(), stopWatch.getTime(TimeUnit.MILLISECONDS));
+
+        return index;
+    }
+
+    /**
+     * returns the substations whose position is in the given bounding box.
+     */
+    List<SubstationGeoData> getSubstationsByBoundingBox(UUID networkUuid, Network network, BoundingBox boundingBox) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(boundingBox);
+        return getViewportIndex(networkUuid, network).getSubstations(boundingBox);
+    }
+
+    /**
+     * returns the lines whose bounding box, including their end substations, intersects the given one. Only the bounding
+     * boxes are kept in the cached index, the coordinates of the found lines are read from the DB.
+     */
+    List<LineGeoData> getLinesByBoundingBox(UUID networkUuid, Network network, BoundingBox boundingBox, double tolerance) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(boundingBox);
+
+        StopWatch stopWatch = StopWatch.createStarted();
+
+        ViewportIndex index = getViewportIndex(networkUuid, network);
+        List<String> lineIds = index.getLineIds(boundingBox);
+        Map<String, LineGeoData> linesGeoDataDb = lineRepository.findAllById(lineIds).stream()
+            .collect(Collectors.toMap(LineEntity::getId, lineEntity -> toDto(lineEntity, tolerance)));
+        Map<String, Pair<Substation, Substation>> mapSubstationsByLine = new LinkedHashMap<>();
+        lineIds.forEach(id -> mapSubstationsByLine.put(id, getSubstations(network.getIdentifiable(id))));
+        List<LineGeoData> geoData = getLinesGeoData(mapSubstationsByLine, linesGeoDataDb, index.getSubstationsById());
+
+        LOGGER.info("{} lines in the bounding box read in {} ms", geoData.size(), stopWatch.getTime(TimeUnit.MILLISECONDS));
+
+        return geoData;
+    }
+
+    public CompletableFuture<List<SubstationGeoData>> getSubstationsDataByBoundingBox(UUID networkUuid, Network network, BoundingBox boundingBox) {
+        return geoDataExecutionService.supplyAsync(() -> getSubstationsByBoundingBox(networkUuid, network, boundingBox));
+    }
+
+    public CompletableFuture<List<LineGeoData>> getLinesDataByBoundingBox(UUID networkUuid, Network network, BoundingBox boundingBox, double tolerance) {
+        return geoDataExecutionService.supplyAsync(() -> getLinesByBoundingBox(networkUuid, network, boundingBox, tolerance));
+    }
+
+    /**
+     * returns the clusters of substations at the given zoom level in the given bounding box.
+     */
+    List<SubstationCluster> getSubstationClusters(UUID networkUuid, Network network, int zoom, BoundingBox boundingBox) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(boundingBox);
+        return getViewportIndex(networkUuid, network).getClusterIndex().getClusters(zoom, boundingBox, clustersMaxIds);
+    }
+
+    /**
+     * returns the clusters of substations at the next zoom level of the cluster with the given token.
+     */
+    List<SubstationCluster> expandSubstationCluster(UUID networkUuid, Network network, String token) {
+        Objects.requireNonNull(network);
+        return getViewportIndex(networkUuid, network).getClusterIndex().expand(token, clustersMaxIds);
+    }
+
+    public CompletableFuture<List<SubstationCluster>> getSubstationClustersData(UUID networkUuid, Network network, int zoom, BoundingBox boundingBox) {
+        return geoDataExecutionService.supplyAsync(() -> getSubstationClusters(networkUuid, network, zoom, boundingBox));
+    }
+
+    public CompletableFuture<List<SubstationCluster>> expandSubstationClusterData(UUID networkUuid, Network network, String token) {
+        return geoDataExecutionService.supplyAsync(() -> expandSubstationCluster(networkUuid, network, token));
+    }
+
+    /**
+     * returns the vector tile of the substations and lines of the network working variant, from the cache if already
+     * encoded. The tile is not cached when the network uuid is unknown.
+     */
+    byte[] getTile(UUID networkUuid, Network network, int z, int x, int y) {
+        Objects.requireNonNull(network);
+        if (networkUuid == null) {
+            return encodeTile(networkUuid, network, z, x, y);
+        }
+        VectorTileCache.Key key = new VectorTileCache.Key(networkUuid, network.getVariantManager().getWorkingVariantId(), z, x, y);
+        return vectorTileCache.get(key, () -> encodeTile(networkUuid, network, z, x, y));
+    }
+
+    private byte[] encodeTile(UUID networkUuid, Network network, int z, int x, int y) {
+        VectorTileEncoder encoder = new VectorTileEncoder(z, x, y);
+        BoundingBox boundingBox = VectorTileEncoder.getBoundingBox(z, x, y);
+        getSubstationsByBoundingBox(networkUuid, network, boundingBox).forEach(encoder::addSubstation);
+        // the lines are simplified with the size of a pixel at this zoom level
+        getLinesByBoundingBox(networkUuid, network, boundingBox, getTolerance(z, null)).forEach(encoder::addLine);
+        return encoder.encode();
+    }
+
+    public CompletableFuture<byte[]> getTileData(UUID networkUuid, Network network, int z, int x, int y) {
+        return geoDataExecutionService.supplyAsync(() -> getTile(networkUuid, network, z, x, y));
+    }
+
+    public CompletableFuture<NetworkGeoData> getNetworkGeoData(UUID networkUuid, Network network, Set<Country> countrySet) {
+        return geoDataExecutionService.supplyAsync(() -> getNetworkGeoDataByCountries(networkUuid, network, countrySet));
+    }
+
     List<LineGeoData> getLinesByIds(Network network, Set<String> linesIds) {
+        return getLinesByIds(network, linesIds, 0);
+    }
+
+    List<LineGeoData> getLinesByIds(Network network, Set<String> linesIds, double tolerance) {
         String escapedIds = StringUtils.join(linesIds.stream().map(LogUtils::sanitizeParam).toList(), ", ");
         LOGGER.info("Loading lines geo data for lines with ids {} of network '{}'", escapedIds, network.getId());
 
@@ -589,7 +1381,8 @@ public class GeoDataService {
         linesIds.forEach(id -> lines.add(network.getLine(id)));
 
         // read lines from DB
-        Map<String, LineGeoData> linesGeoDataDb = lineRepository.findAllById(linesIds).stream().collect(Collectors.toMap(LineEntity::getId, this::toDto));
+        Map<String, LineGeoData> linesGeoDataDb = lineRepository.findAllById(linesIds).stream()
+            .collect(Collectors.toMap(LineEntity::getId, lineEntity -> toDto(lineEntity, tolerance)));
 
         Set<String> substations = new HashSet<>();
         lines.forEach(line -> {
@@ -610,10 +1403,24 @@ public class GeoDataService {
     }
 
     public LineGeoData toDto(LineEntity lineEntity) {
+        return toDto(lineEntity, 0);
+    }
+
+    /**
+     * returns the line geo data with the coordinates simplified with the largest tolerance lower or equal to the given one,
+     * or the full coordinates if there is none.
+     */
+    LineGeoData toDto(LineEntity lineEntity, double tolerance) {
         try {
+            List<Coordinate> coordinates = tolerance > 0 && lineEntity.getSimplifiedCoordinates() != null
+                ? LineCoordinatesCodec.decodeLevel(lineEntity.getSimplifiedCoordinates(), tolerance)
+                : null;
+            if (coordinates == null) {
+                coordinates = lineEntity.getBinaryCoordinates() != null ? LineCoordinatesCodec.decode(lineEntity.getBinaryCoordinates()) : toDto(lineEntity.getCoordinates());
+            }
             return new LineGeoData(lineEntity.getId(), toDtoCountry(lineEntity.getCountry()),
                 toDtoCountry(lineEntity.getOtherCountry()), lineEntity.getSubstationStart(), lineEntity.getSubstationEnd(),
-                toDto(lineEntity.getCoordinates())
+                coordinates
             );
         } catch (JsonProcessingException e) {
             throw new UncheckedIOException("Parsing error", e);
@@ -629,8 +1436,8 @@ public class GeoDataService {
         });
     }
 
-    private Map<String, SubstationGeoData> getSubstationMapByCountries(Network network, Set<Country> countries) {
-        return getSubstationsByCountries(network, countries).stream().collect(Collectors.toMap(SubstationGeoData::getId, Function.identity()));
+    private Map<String, SubstationGeoData> getSubstationMapByCountries(UUID networkUuid, Network network, Set<Country> countries) {
+        return getSubstationsByCountries(networkUuid, network, countries).stream().collect(Collectors.toMap(SubstationGeoData::getId, Function.identity()));
     }
 
     private Map<String, SubstationGeoData> getSubstationMapByIds(Network network, Set<String> substationsIds) {
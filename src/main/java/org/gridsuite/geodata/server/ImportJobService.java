@@ -0,0 +1,278 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.geodata.server.dto.ImportJob;
+import org.gridsuite.geodata.server.dto.ImportReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Asynchronous supervision imports of lines.
+ * <p>
+ * The payload is spooled to a temporary file, so that the request returns once it is received, and is imported by a
+ * thread pool separate from the one of the map requests. The number of running and queued imports is bounded: a
+ * place is reserved before spooling the payload, and the imports submitted when there is none left are rejected. The
+ * jobs are kept in memory, for the configured retention once finished.
+ *
+ * @author agent <agent at local>
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportJobService.class);
+
+    private final GeoDataService geoDataService;
+
+    private final ThreadPoolExecutor executor;
+
+    // places of the running and queued jobs
+    private final Semaphore places;
+
+    private final Duration retention;
+
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+
+    public ImportJobService(GeoDataService geoDataService,
+                            GeoDataObserver geoDataObserver,
+                            @Value("${network-geo-data.import-jobs.threads:1}") int threads,
+                            @Value("${network-geo-data.import-jobs.max-queued:4}") int maxQueued,
+                            @Value("${network-geo-data.import-jobs.retention:PT1H}") Duration retention) {
+        this.geoDataService = geoDataService;
+        this.retention = retention;
+        places = new Semaphore(threads + maxQueued);
+        // the queue is bounded by the places
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        geoDataObserver.createImportThreadPoolMetric(executor);
+    }
+
+    @PreDestroy
+    private void preDestroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Spools the given JSON array of lines and queues its import.
+     *
+     * @throws RejectedExecutionException if too many imports are running or queued
+     */
+    ImportJob submitLines(InputStream linesGeoData, boolean fullSync) throws IOException {
+        removeExpiredJobs();
+        // reserved before spooling, so that a rejected payload is not read
+        if (!places.tryAcquire()) {
+            throw new RejectedExecutionException("Too many lines import jobs");
+        }
+        Path file = null;
+        try {
+            file = Files.createTempFile("geo-data-lines-", ".json");
+            Files.copy(linesGeoData, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            places.release();
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+            throw e;
+        }
+        Job job = new Job(UUID.randomUUID(), file);
+        job.task = () -> run(job, fullSync);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(job.task);
+        } catch (RejectedExecutionException e) {
+            places.release();
+            jobs.remove(job.id);
+            deleteFile(job);
+            throw e;
+        }
+        LOGGER.info("Lines import job {} queued", job.id);
+        return job.toDto();
+    }
+
+    Optional<ImportJob> getJob(UUID id) {
+        removeExpiredJobs();
+        return Optional.ofNullable(jobs.get(id)).map(Job::toDto);
+    }
+
+    /**
+     * Cancels the job: a queued job is cancelled right away, a running one stops after the line being read, the
+     * batches of lines already written are kept, except for a full sync.
+     */
+    Optional<ImportJob> cancelJob(UUID id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (job.cancel()) {
+            // frees its place, unless a thread has just taken the job and frees it when the job ends
+            if (executor.remove(job.task)) {
+                places.release();
+            }
+            deleteFile(job);
+        }
+        return Optional.of(job.toDto());
+    }
+
+    private void run(Job job, boolean fullSync) {
+        try {
+            if (job.start()) {
+                importLines(job, fullSync);
+            }
+        } finally {
+            places.release();
+        }
+    }
+
+    private void importLines(Job job, boolean fullSync) {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(job.file))) {
+            ImportReport report = geoDataService.saveLines(in, fullSync, processed -> {
+                job.processed = processed;
+                if (job.cancelRequested) {
+                    throw new CancellationException();
+                }
+            });
+            job.finish(ImportJob.Status.SUCCEEDED, report, null);
+            LOGGER.info("Lines import job {} succeeded: {}", job.id, report);
+        } catch (CancellationException e) {
+            job.finish(ImportJob.Status.CANCELLED, null, null);
+            LOGGER.info("Lines import job {} cancelled after {} lines", job.id, job.processed);
+        } catch (LinesImportException e) {
+            job.finish(ImportJob.Status.FAILED, e.getReport(), "Invalid lines geographical data: " + e.getOriginalMessage());
+            LOGGER.warn("Lines import job {} failed: {}", job.id, e.getReport(), e);
+        } catch (JsonProcessingException e) {
+            job.finish(ImportJob.Status.FAILED, null, "Invalid lines geographical data: " + e.getOriginalMessage());
+            LOGGER.warn("Lines import job {} failed", job.id, e);
+        } catch (IOException | RuntimeException e) {
+            job.finish(ImportJob.Status.FAILED, null, e.getMessage());
+            LOGGER.error("Lines import job {} failed", job.id, e);
+        } finally {
+            deleteFile(job);
+        }
+    }
+
+    private static void deleteFile(Job job) {
+        try {
+            Files.deleteIfExists(job.file);
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete the spooled file {} of the import job {}", job.file, job.id, e);
+        }
+    }
+
+    private void removeExpiredJobs() {
+        Instant expiration = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinishedBefore(expiration));
+    }
+
+    int size() {
+        return jobs.size();
+    }
+
+    private static final class Job {
+
+        private final UUID id;
+
+        private final Path file;
+
+        private final Instant createdAt = Instant.now();
+
+        private Runnable task;
+
+        private ImportJob.Status status = ImportJob.Status.QUEUED;
+
+        private volatile boolean cancelRequested;
+
+        private volatile int processed;
+
+        private Instant startedAt;
+
+        private long startNanos;
+
+        private Instant finishedAt;
+
+        private long finishNanos;
+
+        private ImportReport report;
+
+        private String error;
+
+        private Job(UUID id, Path file) {
+            this.id = id;
+            this.file = file;
+        }
+
+        private synchronized boolean start() {
+            if (status != ImportJob.Status.QUEUED) {
+                return false;
+            }
+            status = ImportJob.Status.RUNNING;
+            startedAt = Instant.now();
+            startNanos = System.nanoTime();
+            return true;
+        }
+
+        private synchronized void finish(ImportJob.Status finishStatus, ImportReport finishReport, String finishError) {
+            status = finishStatus;
+            report = finishReport;
+            error = finishError;
+            finishedAt = Instant.now();
+            finishNanos = System.nanoTime();
+        }
+
+        // returns true if the job was queued and is now cancelled
+        private synchronized boolean cancel() {
+            if (status == ImportJob.Status.QUEUED) {
+                status = ImportJob.Status.CANCELLED;
+                finishedAt = Instant.now();
+                return true;
+            }
+            if (status == ImportJob.Status.RUNNING) {
+                cancelRequested = true;
+            }
+            return false;
+        }
+
+        private synchronized boolean isFinishedBefore(Instant instant) {
+            return finishedAt != null && finishedAt.isBefore(instant);
+        }
+
+        private synchronized ImportJob toDto() {
+            double throughput = 0;
+            if (startedAt != null) {
+                long nanos = (finishedAt != null && finishNanos != 0 ? finishNanos : System.nanoTime()) - startNanos;
+                throughput = nanos > 0 ? processed * 1e9 / nanos : 0;
+            }
+            return ImportJob.builder()
+                .id(id)
+                .status(status)
+                .cancelRequested(cancelRequested)
+                .processed(processed)
+                .throughput(throughput)
+                .error(error)
+                .report(report)
+                .createdAt(createdAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool calculating the independent parts of the substations layouts in parallel, shared by all the requests
+ * instead of the common fork join pool. The threads are only started by the first parallel layout.
+ *
+ * @author agent <agent at local>
+ */
+@Service
+public class LayoutExecutionService {
+    private final ExecutorService executorService;
+
+    public LayoutExecutionService(@Value("${network-geo-data.parallel-layout-threads:4}") int parallelLayoutThreads) {
+        executorService = Executors.newFixedThreadPool(parallelLayoutThreads);
+    }
+
+    @PreDestroy
+    private void preDestroy() {
+        executorService.shutdown();
+    }
+
+    public <U> CompletableFuture<U> supplyAsync(Supplier<U> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executorService);
+    }
+}
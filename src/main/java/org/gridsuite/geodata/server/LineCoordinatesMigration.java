@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.iidm.network.extensions.Coordinate;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.time.StopWatch;
+import org.gridsuite.geodata.server.repositories.LineCoordinatesCodec;
+import org.gridsuite.geodata.server.repositories.LineEntity;
+import org.gridsuite.geodata.server.repositories.LineRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background migration of the lines coordinates stored in JSON to the binary format.
+ * <p>
+ * The lines are migrated by batches in the order of their ids, the lines whose coordinates can't be encoded
+ * at the round precision keep their JSON coordinates and are marked so that the next migrations skip them. The simplified coordinates and the bounding box are computed
+ * at the same time.
+ *
+ * @author agent <agent at local>
+ */
+@Service
+public class LineCoordinatesMigration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LineCoordinatesMigration.class);
+
+    private final LineRepository lineRepository;
+
+    private final ObjectMapper mapper;
+
+    private final int geoDataRoundPrecision;
+
+    private final double[] simplificationTolerances;
+
+    private final boolean enabled;
+
+    private final int batchSize;
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    public LineCoordinatesMigration(LineRepository lineRepository, ObjectMapper mapper,
+                                    @Value("${geo_data_round_precision}") int geoDataRoundPrecision,
+                                    @Value("${network-geo-data.simplification.tolerances:0.0005,0.002,0.01,0.05}") double[] simplificationTolerances,
+                                    @Value("${network-geo-data.coordinates-migration.enabled:true}") boolean enabled,
+                                    @Value("${network-geo-data.coordinates-migration.batch-size:1000}") int batchSize) {
+        this.lineRepository = lineRepository;
+        this.mapper = mapper;
+        this.geoDataRoundPrecision = geoDataRoundPrecision;
+        this.simplificationTolerances = simplificationTolerances.clone();
+        Arrays.sort(this.simplificationTolerances);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            executorService.execute(() -> {
+                try {
+                    migrate();
+                } catch (RuntimeException e) {
+                    LOGGER.error("Lines coordinates migration failed", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    private void preDestroy() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Returns the number of migrated lines.
+     */
+    int migrate() {
+        StopWatch stopWatch = StopWatch.createStarted();
+        String lastId = "";
+        int migrated = 0;
+        int skipped = 0;
+        List<LineEntity> lines;
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                LOGGER.info("Lines coordinates migration interrupted after {} lines", migrated);
+                return migrated;
+            }
+            lines = lineRepository.findByIdGreaterThanAndBinaryCoordinatesIsNullAndCoordinatesIsNotNullAndJsonCoordinatesKeptIsNullOrderByIdAsc(lastId,
+                PageRequest.of(0, batchSize));
+            List<LineEntity> migratedLines = new ArrayList<>(lines.size());
+            List<String> keptLinesIds = new ArrayList<>();
+            for (LineEntity line : lines) {
+                List<Coordinate> coordinates = parse(line);
+                byte[] binaryCoordinates = coordinates != null ? LineCoordinatesCodec.encode(coordinates, geoDataRoundPrecision) : null;
+                if (binaryCoordinates != null) {
+                    migratedLines.add(LineEntity.builder()
+                        .id(line.getId())
+                        .binaryCoordinates(binaryCoordinates)
+                        .simplifiedCoordinates(LineSimplifier.encodeLevels(coordinates, simplificationTolerances, geoDataRoundPrecision))
+                        .boundingBox(coordinates)
+                        .build());
+                } else {
+                    keptLinesIds.add(line.getId());
+                }
+            }
+            migrated += lineRepository.setBinaryCoordinates(migratedLines);
+            if (!keptLinesIds.isEmpty()) {
+                skipped += lineRepository.setJsonCoordinatesKept(keptLinesIds);
+            }
+            if (!lines.isEmpty()) {
+                lastId = lines.get(lines.size() - 1).getId();
+            }
+        } while (lines.size() == batchSize);
+        if (migrated > 0 || skipped > 0) {
+            LOGGER.info("{} lines coordinates migrated to the binary format in {} ms, {} lines kept in JSON", migrated,
+                stopWatch.getTime(TimeUnit.MILLISECONDS), skipped);
+        }
+        return migrated;
+    }
+
+    private List<Coordinate> parse(LineEntity line) {
+        try {
+            return mapper.readValue(line.getCoordinates(), new TypeReference<>() {
+            });
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("Invalid coordinates of line {}", line.getId());
+            return null;
+        }
+    }
+}
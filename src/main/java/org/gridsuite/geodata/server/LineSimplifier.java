@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.extensions.Coordinate;
+import org.gridsuite.geodata.server.repositories.LineCoordinatesCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Douglas-Peucker simplification of the lines coordinates, the distances being computed in degrees.
+ *
+ * @author agent <agent at local>
+ */
+final class LineSimplifier {
+
+    private LineSimplifier() {
+    }
+
+    static List<Coordinate> simplify(List<Coordinate> coordinates, double tolerance) {
+        int n = coordinates.size();
+        if (n <= 2) {
+            return coordinates;
+        }
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            latitudes[i] = coordinates.get(i).getLatitude();
+            longitudes[i] = coordinates.get(i).getLongitude();
+        }
+
+        boolean[] kept = new boolean[n];
+        kept[0] = true;
+        kept[n - 1] = true;
+        int[] stack = new int[2 * n];
+        int size = 0;
+        stack[size++] = 0;
+        stack[size++] = n - 1;
+        while (size > 0) {
+            int last = stack[--size];
+            int first = stack[--size];
+            int farthest = -1;
+            double maxDistance = tolerance * tolerance;
+            for (int i = first + 1; i < last; i++) {
+                double distance = squaredSegmentDistance(latitudes, longitudes, i, first, last);
+                if (distance > maxDistance) {
+                    farthest = i;
+                    maxDistance = distance;
+                }
+            }
+            if (farthest >= 0) {
+                kept[farthest] = true;
+                stack[size++] = first;
+                stack[size++] = farthest;
+                stack[size++] = farthest;
+                stack[size++] = last;
+            }
+        }
+
+        List<Coordinate> simplified = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (kept[i]) {
+                simplified.add(coordinates.get(i));
+            }
+        }
+        return simplified;
+    }
+
+    private static double squaredSegmentDistance(double[] latitudes, double[] longitudes, int i, int first, int last) {
+        double x = longitudes[i] - longitudes[first];
+        double y = latitudes[i] - latitudes[first];
+        double dx = longitudes[last] - longitudes[first];
+        double dy = latitudes[last] - latitudes[first];
+        double squaredLength = dx * dx + dy * dy;
+        if (squaredLength > 0) {
+            double t = Math.max(0, Math.min(1, (x * dx + y * dy) / squaredLength));
+            x -= t * dx;
+            y -= t * dy;
+        }
+        return x * x + y * y;
+    }
+
+    /**
+     * Encodes the simplifications of the coordinates with the given tolerances, sorted in ascending order, keeping only
+     * the ones with fewer coordinates than the previous one. Returns null when no simplification is kept or when the
+     * coordinates can't be encoded.
+     */
+    static byte[] encodeLevels(List<Coordinate> coordinates, double[] tolerances, int precision) {
+        List<List<Coordinate>> levels = new ArrayList<>();
+        double[] levelsTolerances = new double[tolerances.length];
+        List<Coordinate> previous = coordinates;
+        for (double tolerance : tolerances) {
+            // each level is simplified from the full coordinates, to stay within its tolerance
+            List<Coordinate> simplified = simplify(coordinates, tolerance);
+            if (simplified.size() < previous.size()) {
+                levelsTolerances[levels.size()] = tolerance;
+                levels.add(simplified);
+                previous = simplified;
+            }
+        }
+        return levels.isEmpty() ? null : LineCoordinatesCodec.encodeLevels(levelsTolerances, levels, precision);
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.gridsuite.geodata.server.dto.ImportReport;
+
+/**
+ * Invalid lines geographical data read by a lines import, with the report of the lines saved before the error.
+ *
+ * @author agent <agent at local>
+ */
+final class LinesImportException extends JsonProcessingException {
+
+    private final transient ImportReport report;
+
+    LinesImportException(JsonProcessingException cause, ImportReport report) {
+        super(cause.getOriginalMessage(), cause.getLocation(), cause);
+        this.report = report;
+    }
+
+    ImportReport getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.extensions.Coordinate;
+
+import java.util.List;
+
+/**
+ * Encoded polyline algorithm format, with a configurable decimal precision (5 for the usual format).
+ *
+ * @author agent <agent at local>
+ */
+final class PolylineEncoder {
+
+    private PolylineEncoder() {
+    }
+
+    static String encode(List<Coordinate> coordinates, int precision) {
+        double factor = Math.pow(10, precision);
+        StringBuilder sb = new StringBuilder(coordinates.size() * 8);
+        long previousLatitude = 0;
+        long previousLongitude = 0;
+        for (Coordinate coordinate : coordinates) {
+            long latitude = Math.round(coordinate.getLatitude() * factor);
+            long longitude = Math.round(coordinate.getLongitude() * factor);
+            encode(latitude - previousLatitude, sb);
+            encode(longitude - previousLongitude, sb);
+            previousLatitude = latitude;
+            previousLongitude = longitude;
+        }
+        return sb.toString();
+    }
+
+    private static void encode(long delta, StringBuilder sb) {
+        long value = delta < 0 ? ~(delta << 1) : delta << 1;
+        while (value >= 0x20) {
+            sb.append((char) ((0x20 | (value & 0x1F)) + 63));
+            value >>= 5;
+        }
+        sb.append((char) (value + 63));
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.extensions.Coordinate;
+import org.gridsuite.geodata.server.dto.SubstationCluster;
+import org.gridsuite.geodata.server.dto.SubstationGeoData;
+
+import java.util.*;
+
+/**
+ * Hierarchy of clusters of substations positions, one level per zoom level of a web map.
+ * <p>
+ * At a zoom level, the substations are clustered by cells of the web mercator grid of a quarter of a 256 pixels
+ * tile side, so that each cell is split in four cells at the next zoom level. The substations are sorted in the
+ * Z-order of their cells at the maximum zoom level: the substations of any cell are then contiguous, and each level
+ * only stores the ranges of its clusters and their aggregates.
+ * <p>
+ * The token of a cluster is the zoom level and the key of its cell, so it remains valid when the index is rebuilt.
+ *
+ * @author agent <agent at local>
+ */
+final class SubstationClusterIndex {
+
+    static final int MAX_ZOOM = 16;
+
+    // cells per tile side = 2^CELL_BITS
+    private static final int CELL_BITS = 2;
+
+    private static final int BITS = MAX_ZOOM + CELL_BITS;
+
+    private static final double MAX_LATITUDE = 85.0511287798066;
+
+    private final List<SubstationGeoData> substations;
+
+    private final Level[] levels = new Level[MAX_ZOOM + 1];
+
+    SubstationClusterIndex(List<SubstationGeoData> layout) {
+        int n = layout.size();
+        long[] unsortedKeys = new long[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            unsortedKeys[i] = key(layout.get(i).getCoordinate());
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> unsortedKeys[i]));
+        substations = Arrays.stream(order).map(layout::get).toList();
+        long[] keys = Arrays.stream(order).mapToLong(i -> unsortedKeys[i]).toArray();
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels[zoom] = new Level(substations, keys, 2 * (MAX_ZOOM - zoom));
+        }
+    }
+
+    // Z-order key of the cell of the position at the maximum zoom level
+    private static long key(Coordinate coordinate) {
+        long cellX = cellX(coordinate.getLongitude());
+        long cellY = cellY(coordinate.getLatitude());
+        long key = 0;
+        for (int bit = BITS - 1; bit >= 0; bit--) {
+            key = key << 2 | ((cellY >> bit) & 1) << 1 | (cellX >> bit) & 1;
+        }
+        return key;
+    }
+
+    // column and row of the cell of the longitude and the latitude at the maximum zoom level, rows are from the north
+    private static long cellX(double longitude) {
+        double mercatorX = (longitude + 180) / 360;
+        return Math.max(0, Math.min((1L << BITS) - 1, (long) Math.floor(mercatorX * (1L << BITS))));
+    }
+
+    private static long cellY(double latitude) {
+        double radians = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        double mercatorY = (1 - Math.log(Math.tan(radians) + 1 / Math.cos(radians)) / Math.PI) / 2;
+        return Math.max(0, Math.min((1L << BITS) - 1, (long) Math.floor(mercatorY * (1L << BITS))));
+    }
+
+    /**
+     * Returns the clusters at the given zoom level whose bounding box intersects the given one.
+     * <p>
+     * The bounding box of a cluster is inside its cell, so only the clusters of the cells covering the given bounding
+     * box are examined: the quadrants of the grid are walked from the whole map, and the clusters of a quadrant are
+     * found by a binary search of its range of keys, the quadrants without cluster or outside the cells covering the
+     * bounding box are skipped.
+     */
+    List<SubstationCluster> getClusters(int zoom, BoundingBox boundingBox, int maxIds) {
+        int level = Math.max(0, Math.min(MAX_ZOOM, zoom));
+        int shift = MAX_ZOOM - level;
+        long[] cells = {cellX(boundingBox.minLongitude()) >> shift, cellX(boundingBox.maxLongitude()) >> shift,
+            cellY(boundingBox.maxLatitude()) >> shift, cellY(boundingBox.minLatitude()) >> shift};
+        List<SubstationCluster> clusters = new ArrayList<>();
+        addClusters(level, level + CELL_BITS, 0, 0, 0, 0, 0, levels[level].size(), cells, boundingBox, maxIds, clusters);
+        return clusters;
+    }
+
+    // adds the clusters of the quadrant of the given depth, whose clusters are between from and to
+    private void addClusters(int level, int bits, int depth, long quadrant, long quadrantX, long quadrantY, int from, int to,
+                             long[] cells, BoundingBox boundingBox, int maxIds, List<SubstationCluster> clusters) {
+        int shift = bits - depth;
+        if (from == to || quadrantX + 1 << shift <= cells[0] || quadrantX << shift > cells[1]
+            || quadrantY + 1 << shift <= cells[2] || quadrantY << shift > cells[3]) {
+            return;
+        }
+        boolean covered = quadrantX << shift >= cells[0] && (quadrantX + 1 << shift) - 1 <= cells[1]
+            && quadrantY << shift >= cells[2] && (quadrantY + 1 << shift) - 1 <= cells[3];
+        if (covered || depth == bits) {
+            for (int i = from; i < to; i++) {
+                if (boundingBox.intersects(levels[level].boundingBoxes[i])) {
+                    clusters.add(toDto(level, i, maxIds));
+                }
+            }
+            return;
+        }
+        long[] keys = levels[level].keys;
+        int childFrom = from;
+        for (int child = 0; child < 4; child++) {
+            long childQuadrant = quadrant << 2 | child;
+            int childTo = lowerBound(keys, childFrom, to, childQuadrant + 1 << 2 * (shift - 1));
+            addClusters(level, bits, depth + 1, childQuadrant, quadrantX << 1 | child & 1, quadrantY << 1 | child >> 1,
+                childFrom, childTo, cells, boundingBox, maxIds, clusters);
+            childFrom = childTo;
+        }
+    }
+
+    // index of the first key greater than or equal to the given one
+    private static int lowerBound(long[] keys, int from, int to, long key) {
+        int i = Arrays.binarySearch(keys, from, to, key);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    /**
+     * Returns the clusters at the next zoom level of the cluster with the given token.
+     */
+    List<SubstationCluster> expand(String token, int maxIds) {
+        if (!isValidToken(token)) {
+            throw new IllegalArgumentException("Invalid cluster token " + token);
+        }
+        int separator = token.indexOf('/');
+        int level = Integer.parseInt(token.substring(0, separator)) + 1;
+        long key = Long.parseLong(token.substring(separator + 1));
+        List<SubstationCluster> clusters = new ArrayList<>();
+        if (level > MAX_ZOOM) {
+            return clusters;
+        }
+        long[] keys = levels[level].keys;
+        int i = Arrays.binarySearch(keys, 0, levels[level].size(), key << 2);
+        for (i = i >= 0 ? i : -i - 1; i < levels[level].size() && keys[i] >> 2 == key; i++) {
+            clusters.add(toDto(level, i, maxIds));
+        }
+        return clusters;
+    }
+
+    static boolean isValidToken(String token) {
+        if (token == null) {
+            return false;
+        }
+        int separator = token.indexOf('/');
+        try {
+            int zoom = Integer.parseInt(token.substring(0, Math.max(0, separator)));
+            long key = Long.parseLong(token.substring(separator + 1));
+            return zoom >= 0 && zoom <= MAX_ZOOM && key >= 0 && key < 1L << 2 * (zoom + CELL_BITS);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private SubstationCluster toDto(int zoom, int i, int maxIds) {
+        Level level = levels[zoom];
+        int from = level.starts[i];
+        int to = level.starts[i + 1];
+        // the clusters of the maximum zoom level can't be expanded
+        boolean withIds = to - from <= maxIds || zoom == MAX_ZOOM;
+        BoundingBox boundingBox = level.boundingBoxes[i];
+        return SubstationCluster.builder()
+            .zoom(zoom)
+            .count(to - from)
+            .coordinate(new Coordinate(level.latitudes[i], level.longitudes[i]))
+            .minLatitude(boundingBox.minLatitude())
+            .minLongitude(boundingBox.minLongitude())
+            .maxLatitude(boundingBox.maxLatitude())
+            .maxLongitude(boundingBox.maxLongitude())
+            .substationIds(withIds ? substations.subList(from, to).stream().map(SubstationGeoData::getId).toList() : null)
+            .token(withIds ? null : zoom + "/" + level.keys[i])
+            .build();
+    }
+
+    /**
+     * Clusters of a zoom level, in the order of their cell keys.
+     */
+    private static final class Level {
+
+        private final long[] keys;
+
+        // start of the substations of each cluster, and the end of the last one
+        private final int[] starts;
+
+        // centroids
+        private final double[] latitudes;
+
+        private final double[] longitudes;
+
+        private final BoundingBox[] boundingBoxes;
+
+        private Level(List<SubstationGeoData> substations, long[] substationKeys, int shift) {
+            int count = 0;
+            for (int i = 0; i < substationKeys.length; i++) {
+                if (i == 0 || substationKeys[i] >> shift != substationKeys[i - 1] >> shift) {
+                    count++;
+                }
+            }
+            keys = new long[count];
+            starts = new int[count + 1];
+            latitudes = new double[count];
+            longitudes = new double[count];
+            boundingBoxes = new BoundingBox[count];
+            int cluster = -1;
+            for (int i = 0; i < substationKeys.length; i++) {
+                Coordinate coordinate = substations.get(i).getCoordinate();
+                BoundingBox point = BoundingBox.of(coordinate);
+                if (i == 0 || substationKeys[i] >> shift != substationKeys[i - 1] >> shift) {
+                    cluster++;
+                    keys[cluster] = substationKeys[i] >> shift;
+                    starts[cluster] = i;
+                    boundingBoxes[cluster] = point;
+                } else {
+                    boundingBoxes[cluster] = boundingBoxes[cluster].union(point);
+                }
+                latitudes[cluster] += coordinate.getLatitude();
+                longitudes[cluster] += coordinate.getLongitude();
+            }
+            starts[count] = substationKeys.length;
+            for (int i = 0; i < count; i++) {
+                latitudes[i] /= starts[i + 1] - starts[i];
+                longitudes[i] /= starts[i + 1] - starts[i];
+            }
+        }
+
+        private int size() {
+            return keys.length;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.Substation;
+import com.powsybl.iidm.network.extensions.Coordinate;
+import jakarta.annotation.PostConstruct;
+import org.apache.commons.lang3.time.StopWatch;
+import org.gridsuite.geodata.server.dto.SubstationGeoData;
+import org.gridsuite.geodata.server.repositories.SubstationEntity;
+import org.gridsuite.geodata.server.repositories.SubstationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In memory copy of the substations positions stored in the DB, partitioned by country.
+ * It is loaded at startup, updated after each save and reloaded periodically to get the saves of the other
+ * instances of the server, so reads never hit the DB.
+ * Readers always get fresh {@link SubstationGeoData} instances they are free to modify.
+ *
+ * @author agent <agent at local>
+ */
+@Service
+public class SubstationGeoDataStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubstationGeoDataStore.class);
+
+    private record StoredPosition(String id, Country country, double lat, double lon) {
+
+        static StoredPosition of(SubstationEntity entity) {
+            return new StoredPosition(entity.getId(), Country.valueOf(entity.getCountry()),
+                entity.getCoordinate().getLat(), entity.getCoordinate().getLon());
+        }
+
+        SubstationGeoData toGeoData(String substationId) {
+            return new SubstationGeoData(substationId, country, new Coordinate(lat, lon));
+        }
+    }
+
+    // concurrent maps, as the saved positions are merged in place while being read
+    private record Snapshot(Map<String, StoredPosition> byId, Map<Country, Map<String, StoredPosition>> byCountry) {
+
+        static Snapshot of(Collection<StoredPosition> positions) {
+            Snapshot snapshot = new Snapshot(new ConcurrentHashMap<>(positions.size()), new ConcurrentHashMap<>());
+            positions.forEach(snapshot::put);
+            return snapshot;
+        }
+
+        void put(StoredPosition position) {
+            // added to its country before being replaced in the others, so that it's always found
+            byCountry.computeIfAbsent(position.country(), c -> new ConcurrentHashMap<>()).put(position.id(), position);
+            StoredPosition previous = byId.put(position.id(), position);
+            if (previous != null && previous.country() != position.country()) {
+                byCountry.get(previous.country()).remove(previous.id());
+            }
+        }
+
+        StoredPosition get(String id, Set<Country> countries) {
+            if (countries.isEmpty()) {
+                return byId.get(id);
+            }
+            for (Country country : countries) {
+                StoredPosition position = byCountry.getOrDefault(country, Map.of()).get(id);
+                if (position != null) {
+                    return position;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final SubstationRepository substationRepository;
+
+    private final GeoDataObserver geoDataObserver;
+
+    private final SubstationLayoutCache substationLayoutCache;
+
+    private final ViewportIndexCache viewportIndexCache;
+
+    private final VectorTileCache vectorTileCache;
+
+    // replaced as a whole on each reload, the saved positions are merged in it
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    public SubstationGeoDataStore(SubstationRepository substationRepository, GeoDataObserver geoDataObserver,
+                                  SubstationLayoutCache substationLayoutCache, ViewportIndexCache viewportIndexCache,
+                                  VectorTileCache vectorTileCache) {
+        this.substationRepository = substationRepository;
+        this.geoDataObserver = geoDataObserver;
+        this.substationLayoutCache = substationLayoutCache;
+        this.viewportIndexCache = viewportIndexCache;
+        this.vectorTileCache = vectorTileCache;
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * Reloads the whole store from the DB, returns true if the stored positions have changed.
+     */
+    public synchronized boolean refresh() {
+        StopWatch stopWatch = StopWatch.createStarted();
+        List<StoredPosition> positions = substationRepository.findAll().stream().map(StoredPosition::of).toList();
+        Snapshot previous = snapshot;
+        snapshot = Snapshot.of(positions);
+        stopWatch.stop();
+        geoDataObserver.recordSubstationStoreRefresh(stopWatch.getTime(TimeUnit.MILLISECONDS), positions.size());
+        boolean changed = !snapshot.byId().equals(previous.byId());
+        if (changed) {
+            LOGGER.info("{} substations loaded in the store in {} ms", positions.size(), stopWatch.getTime(TimeUnit.MILLISECONDS));
+        }
+        return changed;
+    }
+
+    /**
+     * Reloads the substations positions saved by the other instances of the server, the cached layouts, viewport
+     * indexes and tiles are invalidated if they have changed. The lines saved by the other instances are seen once
+     * the cached viewport indexes and tiles have expired.
+     */
+    @Scheduled(initialDelayString = "${network-geo-data.substation-store.refresh-period:PT1M}",
+        fixedDelayString = "${network-geo-data.substation-store.refresh-period:PT1M}")
+    public void scheduledRefresh() {
+        try {
+            if (refresh()) {
+                substationLayoutCache.invalidateAll();
+                viewportIndexCache.invalidateAll();
+                vectorTileCache.invalidateAll();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Substations store refresh failed", e);
+        }
+    }
+
+    /**
+     * Adds or replaces the given saved substations in the store, in time proportional to their number. The readers
+     * may see a part of them until the end of the call.
+     */
+    public synchronized void putAll(Collection<SubstationEntity> substationEntities) {
+        if (substationEntities.isEmpty()) {
+            return;
+        }
+        StopWatch stopWatch = StopWatch.createStarted();
+        Snapshot current = snapshot;
+        substationEntities.forEach(entity -> current.put(StoredPosition.of(entity)));
+        stopWatch.stop();
+        geoDataObserver.recordSubstationStoreRefresh(stopWatch.getTime(TimeUnit.MILLISECONDS), current.byId().size());
+    }
+
+    public int size() {
+        return snapshot.byId().size();
+    }
+
+    /**
+     * Returns the stored positions of the given network substations, keyed by network substation id.
+     * A substation is looked up by id, then by name, among the positions stored for the given countries
+     * (all of them if empty), and is ignored if its country differs from the stored one.
+     */
+    public Map<String, SubstationGeoData> getBySubstations(Collection<Substation> substations, Set<Country> countries) {
+        Snapshot current = snapshot;
+        Map<String, SubstationGeoData> result = new HashMap<>();
+        for (Substation substation : substations) {
+            StoredPosition position = current.get(substation.getId(), countries);
+            if (position == null && !substation.getNameOrId().equals(substation.getId())) {
+                position = current.get(substation.getNameOrId(), countries);
+            }
+            if (position != null && (substation.getCountry().isEmpty() || substation.getCountry().get() == position.country())) {
+                result.put(substation.getId(), position.toGeoData(substation.getId()));
+            }
+        }
+        geoDataObserver.recordSubstationStoreLookups(result.size(), substations.size() - result.size());
+        return result;
+    }
+
+    /**
+     * Returns the stored positions of the substations with the given ids, keyed by id.
+     */
+    public Map<String, SubstationGeoData> getByIds(Collection<String> substationIds) {
+        Snapshot current = snapshot;
+        Map<String, SubstationGeoData> result = new HashMap<>();
+        for (String substationId : substationIds) {
+            StoredPosition position = current.byId().get(substationId);
+            if (position != null) {
+                result.put(substationId, position.toGeoData(substationId));
+            }
+        }
+        geoDataObserver.recordSubstationStoreLookups(result.size(), substationIds.size() - result.size());
+        return result;
+    }
+}
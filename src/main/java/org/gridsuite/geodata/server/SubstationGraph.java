@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.*;
+
+import java.nio.IntBuffer;
+import java.util.*;
+
+/**
+ * Neighbourhood graph of substations, two substations being neighbours when they are linked by a line, a tie line
+ * or an HVDC line.
+ * <p>
+ * Substations are identified by their index in the graph, and the neighbours are stored in compressed sparse row
+ * form: the neighbours of substation {@code i} are {@code neighbour(k)} for {@code k} in
+ * [{@code neighboursStart(i)}, {@code neighboursEnd(i)}[, sorted by index and without duplicates.
+ * Only the neighbours of the substations added with {@link Builder#addWithNeighbours} are computed, the other
+ * substations of the graph are just neighbours of those and have no neighbours.
+ * <p>
+ * Each distinct set of neighbours is interned once to a neighbourhood id, from 0 to {@code neighbourhoodCount()}
+ * excluded, so that data attached to a neighbourhood can be kept in arrays.
+ *
+ * @author agent <agent at local>
+ */
+final class SubstationGraph {
+
+    private final Substation[] substations;
+
+    private final String[] ids;
+
+    // read once, so that the layout computation does not access the network
+    private final Country[] countries;
+
+    private final Map<String, Integer> indexes;
+
+    private final int[] offsets;
+
+    private final int[] neighbours;
+
+    private final int[] neighbourhoodIds;
+
+    private final int neighbourhoodCount;
+
+    private SubstationGraph(Substation[] substations, Map<String, Integer> indexes, int[] offsets, int[] neighbours) {
+        this.substations = substations;
+        this.indexes = indexes;
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        ids = new String[substations.length];
+        countries = new Country[substations.length];
+        for (int i = 0; i < substations.length; i++) {
+            ids[i] = substations[i].getId();
+            countries[i] = substations[i].getNullableCountry();
+        }
+
+        Map<IntBuffer, Integer> internedNeighbourhoods = new HashMap<>();
+        neighbourhoodIds = new int[substations.length];
+        for (int i = 0; i < substations.length; i++) {
+            neighbourhoodIds[i] = internedNeighbourhoods.computeIfAbsent(neighbourhood(i), n -> internedNeighbourhoods.size());
+        }
+        neighbourhoodCount = internedNeighbourhoods.size();
+    }
+
+    /**
+     * Builds the graph of the given substations and their neighbours, the given substations having the first indexes
+     * in iteration order.
+     */
+    static SubstationGraph of(Collection<Substation> substations) {
+        Builder builder = new Builder();
+        substations.forEach(builder::add);
+        substations.forEach(builder::addWithNeighbours);
+        return builder.build();
+    }
+
+    int size() {
+        return substations.length;
+    }
+
+    Substation getSubstation(int i) {
+        return substations[i];
+    }
+
+    String getId(int i) {
+        return ids[i];
+    }
+
+    Country getCountry(int i) {
+        return countries[i];
+    }
+
+    /**
+     * returns the index of the substation with the given id, -1 if not in the graph.
+     */
+    int indexOf(String id) {
+        Integer index = indexes.get(id);
+        return index != null ? index : -1;
+    }
+
+    int neighboursStart(int i) {
+        return offsets[i];
+    }
+
+    int neighboursEnd(int i) {
+        return offsets[i + 1];
+    }
+
+    int neighbour(int k) {
+        return neighbours[k];
+    }
+
+    int neighboursCount(int i) {
+        return offsets[i + 1] - offsets[i];
+    }
+
+    /**
+     * returns a read only view of the neighbours of substation {@code i}, two substations having the same neighbours
+     * have equal views.
+     */
+    IntBuffer neighbourhood(int i) {
+        return IntBuffer.wrap(neighbours, offsets[i], offsets[i + 1] - offsets[i]).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * returns the id of the neighbourhood of substation {@code i}, two substations have the same id if and only if
+     * they have the same neighbours.
+     */
+    int neighbourhoodId(int i) {
+        return neighbourhoodIds[i];
+    }
+
+    int neighbourhoodCount() {
+        return neighbourhoodCount;
+    }
+
+    static final class Builder {
+
+        private final List<Substation> substations = new ArrayList<>();
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private final BitSet withNeighbours = new BitSet();
+
+        // edges in insertion order, converted to compressed sparse rows in build()
+        private int[] edgeSources = new int[64];
+
+        private int[] edgeTargets = new int[64];
+
+        private int edgeCount;
+
+        /**
+         * adds the substation to the graph if not already there, and returns its index.
+         */
+        int add(Substation substation) {
+            Integer index = indexes.get(substation.getId());
+            if (index == null) {
+                index = substations.size();
+                substations.add(substation);
+                indexes.put(substation.getId(), index);
+            }
+            return index;
+        }
+
+        /**
+         * adds the substation and its neighbours to the graph, and returns its index. The edges to its neighbours
+         * are the edges added from {@code edgeCount()} before the call to {@code edgeCount()} after.
+         */
+        int addWithNeighbours(Substation substation) {
+            int index = add(substation);
+            if (withNeighbours.get(index)) {
+                return index;
+            }
+            withNeighbours.set(index);
+            for (VoltageLevel vl : substation.getVoltageLevels()) {
+                for (Line line : vl.getConnectables(Line.class)) {
+                    addEdge(index, line.getTerminal1(), line.getTerminal2());
+                }
+                for (BoundaryLine boundaryLine : vl.getConnectables(BoundaryLine.class)) {
+                    boundaryLine.getTieLine().ifPresent(tieLine ->
+                        addEdge(index, tieLine.getBoundaryLine1().getTerminal(), tieLine.getBoundaryLine2().getTerminal()));
+                }
+                for (VscConverterStation station : vl.getVscConverterStations()) {
+                    addEdge(index, station.getHvdcLine());
+                }
+                for (LccConverterStation station : vl.getLccConverterStations()) {
+                    addEdge(index, station.getHvdcLine());
+                }
+            }
+            return index;
+        }
+
+        private void addEdge(int source, HvdcLine hvdcLine) {
+            if (hvdcLine != null) {
+                addEdge(source, hvdcLine.getConverterStation1().getTerminal(), hvdcLine.getConverterStation2().getTerminal());
+            }
+        }
+
+        private void addEdge(int source, Terminal terminal1, Terminal terminal2) {
+            Substation substation1 = terminal1.getVoltageLevel().getSubstation().orElse(null);
+            Substation substation2 = terminal2.getVoltageLevel().getSubstation().orElse(null);
+            if (substation1 == null || substation2 == null) {
+                return;
+            }
+            String sourceId = substations.get(source).getId();
+            if (!substation1.getId().equals(sourceId)) {
+                addEdge(source, add(substation1));
+            } else if (!substation2.getId().equals(sourceId)) {
+                addEdge(source, add(substation2));
+            }
+        }
+
+        private void addEdge(int source, int target) {
+            if (edgeCount == edgeSources.length) {
+                edgeSources = Arrays.copyOf(edgeSources, edgeCount * 2);
+                edgeTargets = Arrays.copyOf(edgeTargets, edgeCount * 2);
+            }
+            edgeSources[edgeCount] = source;
+            edgeTargets[edgeCount] = target;
+            edgeCount++;
+        }
+
+        int edgeCount() {
+            return edgeCount;
+        }
+
+        int edgeTarget(int edge) {
+            return edgeTargets[edge];
+        }
+
+        String getId(int i) {
+            return substations.get(i).getId();
+        }
+
+        SubstationGraph build() {
+            int size = substations.size();
+            int[] offsets = new int[size + 1];
+            for (int e = 0; e < edgeCount; e++) {
+                offsets[edgeSources[e] + 1]++;
+            }
+            for (int i = 0; i < size; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            int[] neighbours = new int[edgeCount];
+            int[] next = Arrays.copyOf(offsets, size);
+            for (int e = 0; e < edgeCount; e++) {
+                neighbours[next[edgeSources[e]]++] = edgeTargets[e];
+            }
+
+            // sort each row and remove the duplicates (parallel lines), compacting the rows in place
+            int[] compactOffsets = new int[size + 1];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int start = offsets[i];
+                int end = offsets[i + 1];
+                Arrays.sort(neighbours, start, end);
+                for (int k = start; k < end; k++) {
+                    if (k == start || neighbours[k] != neighbours[k - 1]) {
+                        neighbours[count++] = neighbours[k];
+                    }
+                }
+                compactOffsets[i + 1] = count;
+            }
+            return new SubstationGraph(substations.toArray(new Substation[0]), new HashMap<>(indexes),
+                compactOffsets, Arrays.copyOf(neighbours, count));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.extensions.Coordinate;
+
+import java.util.*;
+
+/**
+ * Index of positioned substations, by cells of one degree of latitude and longitude, so that the substations close to
+ * a position are found without scanning all of them. Substations are identified by their index in a
+ * {@link SubstationGraph}.
+ *
+ * @author agent <agent at local>
+ */
+final class SubstationGridIndex {
+
+    private final Map<Long, Set<Integer>> cells = new HashMap<>();
+
+    private static long cell(int lat, int lon) {
+        return ((long) lat << 32) | (lon & 0xffffffffL);
+    }
+
+    private static long cell(Coordinate coordinate) {
+        return cell((int) Math.floor(coordinate.getLatitude()), (int) Math.floor(coordinate.getLongitude()));
+    }
+
+    void add(int substation, Coordinate coordinate) {
+        cells.computeIfAbsent(cell(coordinate), c -> new HashSet<>()).add(substation);
+    }
+
+    void move(int substation, Coordinate from, Coordinate to) {
+        long fromCell = cell(from);
+        long toCell = cell(to);
+        if (fromCell != toCell) {
+            Set<Integer> substations = cells.get(fromCell);
+            substations.remove(substation);
+            if (substations.isEmpty()) {
+                cells.remove(fromCell);
+            }
+            cells.computeIfAbsent(toCell, c -> new HashSet<>()).add(substation);
+        }
+    }
+
+    /**
+     * returns, by increasing index, the substations of the cells covering the window of one degree around the given
+     * position. The caller still has to check the actual distance of each of them.
+     */
+    int[] getCandidates(Coordinate center) {
+        int minLat = (int) Math.floor(center.getLatitude() - 1);
+        int maxLat = (int) Math.floor(center.getLatitude() + 1);
+        int minLon = (int) Math.floor(center.getLongitude() - 1);
+        int maxLon = (int) Math.floor(center.getLongitude() + 1);
+        List<Set<Integer>> windowCells = new ArrayList<>();
+        int count = 0;
+        for (int lat = minLat; lat <= maxLat; lat++) {
+            for (int lon = minLon; lon <= maxLon; lon++) {
+                Set<Integer> substations = cells.get(cell(lat, lon));
+                if (substations != null) {
+                    windowCells.add(substations);
+                    count += substations.size();
+                }
+            }
+        }
+        int[] candidates = new int[count];
+        int k = 0;
+        for (Set<Integer> substations : windowCells) {
+            for (int substation : substations) {
+                candidates[k++] = substation;
+            }
+        }
+        Arrays.sort(candidates);
+        return candidates;
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.Country;
+import org.gridsuite.geodata.server.dto.SubstationGeoData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the computed substations layouts of a network variant for a set of countries.
+ * The cache is bounded by the total number of cached substations: least recently used layouts are
+ * evicted first, and layouts older than the configured time to live are recomputed.
+ *
+ * @author agent <agent at local>
+ */
+@Service
+public class SubstationLayoutCache {
+
+    record Key(UUID networkUuid, String variantId, Set<Country> countries) {
+        Key {
+            Objects.requireNonNull(networkUuid);
+            Objects.requireNonNull(variantId);
+            countries = Set.copyOf(countries);
+        }
+    }
+
+    private final WeightedCache<Key, List<SubstationGeoData>> cache;
+
+    public SubstationLayoutCache(@Value("${network-geo-data.layout-cache.max-substations:200000}") long maxSubstations,
+                                 @Value("${network-geo-data.layout-cache.ttl:PT1H}") Duration ttl,
+                                 GeoDataObserver geoDataObserver) {
+        cache = new WeightedCache<>(maxSubstations, ttl, List::size, geoDataObserver::recordLayoutCacheLookup);
+    }
+
+    /**
+     * Returns the cached layout for the given key, computing and caching it if needed.
+     * The returned list is unmodifiable.
+     */
+    public List<SubstationGeoData> get(Key key, Supplier<List<SubstationGeoData>> layoutSupplier) {
+        return cache.get(key, () -> List.copyOf(layoutSupplier.get()));
+    }
+
+    /**
+     * Invalidates the layouts whose key matches the given predicate.
+     */
+    void invalidateIf(Predicate<Key> predicate) {
+        cache.invalidateIf((key, value) -> predicate.test(key));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    int size() {
+        return cache.size();
+    }
+}
@@ -7,18 +7,33 @@
 package org.gridsuite.geodata.server;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.gridsuite.geodata.server.dto.ImportJob;
+import org.gridsuite.geodata.server.dto.ImportReport;
 import org.gridsuite.geodata.server.dto.LineGeoData;
 import org.gridsuite.geodata.server.dto.SubstationGeoData;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @author Radouane Khouadri <redouane.khouadri_externe at rte-france.com>
@@ -30,23 +45,65 @@ public class SupervisionController {
 
     private final GeoDataService geoDataService;
 
-    public SupervisionController(GeoDataService geoDataService) {
+    private final ImportJobService importJobService;
+
+    public SupervisionController(GeoDataService geoDataService, ImportJobService importJobService) {
         this.geoDataService = geoDataService;
+        this.importJobService = importJobService;
     }
 
     @PostMapping(value = "/substations")
     @Operation(summary = "Save substations geographical data")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Substations geographical data have been correctly saved")})
-    public ResponseEntity<Void> saveSubstations(@RequestBody List<SubstationGeoData> substationGeoData) {
-        geoDataService.saveSubstations(substationGeoData);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ImportReport> saveSubstations(@RequestBody List<SubstationGeoData> substationGeoData,
+                                                        @Parameter(description = "Delete the substations which are not in the given ones") @RequestParam(name = "fullSync", defaultValue = "false") boolean fullSync) {
+        return ResponseEntity.ok().body(geoDataService.saveSubstations(substationGeoData, fullSync));
     }
 
     @PostMapping(value = "/lines")
     @Operation(summary = "Save lines geographical data")
-    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Lines geographical data have been correctly saved")})
-    public ResponseEntity<Void> saveLines(@RequestBody List<LineGeoData> linesGeoData) {
-        geoDataService.saveLines(linesGeoData);
-        return ResponseEntity.ok().build();
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Lines geographical data have been correctly saved"),
+        @ApiResponse(responseCode = "400", description = "Invalid lines geographical data, with the report of the lines saved before the error")})
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = LineGeoData.class))))
+    public ResponseEntity<ImportReport> saveLines(InputStream linesGeoData,
+                                                  @Parameter(description = "Delete the lines which are not in the given ones, all the lines are then written in a single transaction") @RequestParam(name = "fullSync", defaultValue = "false") boolean fullSync) throws IOException {
+        // the lines are read and saved as they are received
+        ImportReport report;
+        try {
+            report = geoDataService.saveLines(linesGeoData, fullSync);
+        } catch (LinesImportException e) {
+            return ResponseEntity.badRequest().body(e.getReport());
+        }
+        return ResponseEntity.ok().body(report);
+    }
+
+    @PostMapping(value = "/lines/jobs")
+    @Operation(summary = "Save lines geographical data asynchronously")
+    @ApiResponses(value = {@ApiResponse(responseCode = "202", description = "The lines geographical data have been received and their import is queued"),
+        @ApiResponse(responseCode = "503", description = "Too many imports are queued")})
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = LineGeoData.class))))
+    public ResponseEntity<ImportJob> submitLinesImport(InputStream linesGeoData,
+                                                       @Parameter(description = "Delete the lines which are not in the given ones, all the lines are then written in a single transaction") @RequestParam(name = "fullSync", defaultValue = "false") boolean fullSync) throws IOException {
+        try {
+            return ResponseEntity.accepted().body(importJobService.submitLines(linesGeoData, fullSync));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping(value = "/jobs/{jobId}")
+    @Operation(summary = "Get the progress of an asynchronous import")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The import job"),
+        @ApiResponse(responseCode = "404", description = "The import job doesn't exist or has expired")})
+    public ResponseEntity<ImportJob> getImportJob(@Parameter(description = "Import job id") @PathVariable UUID jobId) {
+        return ResponseEntity.of(importJobService.getJob(jobId));
+    }
+
+    @DeleteMapping(value = "/jobs/{jobId}")
+    @Operation(summary = "Cancel an asynchronous import, the lines already written are kept, except for a full sync")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The import job"),
+        @ApiResponse(responseCode = "404", description = "The import job doesn't exist or has expired")})
+    public ResponseEntity<ImportJob> cancelImportJob(@Parameter(description = "Import job id") @PathVariable UUID jobId) {
+        return ResponseEntity.of(importJobService.cancelJob(jobId));
     }
 }
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the encoded vector tiles of the network variants.
+ * The cache is bounded by the total size of the cached tiles: least recently used tiles are evicted first,
+ * and tiles older than the configured time to live are encoded again.
+ * <p>
+ * As with the viewport indexes, the lines saved by the other instances are only seen once the tiles have expired.
+ *
+ * @author agent <agent at local>
+ */
+@Service
+public class VectorTileCache {
+
+    record Key(UUID networkUuid, String variantId, int z, int x, int y) {
+        Key {
+            Objects.requireNonNull(networkUuid);
+            Objects.requireNonNull(variantId);
+        }
+    }
+
+    private final WeightedCache<Key, byte[]> cache;
+
+    public VectorTileCache(@Value("${network-geo-data.tile-cache.max-bytes:268435456}") long maxBytes,
+                           @Value("${network-geo-data.tile-cache.ttl:PT5M}") Duration ttl) {
+        cache = new WeightedCache<>(maxBytes, ttl, tile -> tile.length);
+    }
+
+    /**
+     * Returns the cached tile for the given key, encoding and caching it if needed.
+     */
+    byte[] get(Key key, Supplier<byte[]> tileSupplier) {
+        return cache.get(key, tileSupplier);
+    }
+
+    /**
+     * Invalidates the tiles whose key matches the given predicate.
+     */
+    void invalidateIf(Predicate<Key> predicate) {
+        cache.invalidateIf((key, value) -> predicate.test(key));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    int size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,345 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.extensions.Coordinate;
+import org.gridsuite.geodata.server.dto.LineGeoData;
+import org.gridsuite.geodata.server.dto.SubstationGeoData;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Encoder of a Mapbox Vector Tile (version 2.1) of the web mercator tile grid, with a "substations" layer of points
+ * and a "lines" layer of line strings. Each feature has an "id" attribute and its countries when known.
+ * <p>
+ * The lines are clipped to the tile extended by a buffer, so that the renderers can draw them across the tiles
+ * borders without holes.
+ *
+ * @author agent <agent at local>
+ */
+final class VectorTileEncoder {
+
+    static final String SUBSTATIONS_LAYER = "substations";
+
+    static final String LINES_LAYER = "lines";
+
+    static final int EXTENT = 4096;
+
+    static final int BUFFER = 64;
+
+    static final int MAX_ZOOM = 24;
+
+    private static final double MAX_LATITUDE = 85.0511287798066;
+
+    // protobuf wire types
+    private static final int VARINT = 0;
+    private static final int LENGTH_DELIMITED = 2;
+
+    // geometry types and commands
+    private static final int POINT = 1;
+    private static final int LINESTRING = 2;
+    private static final int MOVE_TO = 1;
+    private static final int LINE_TO = 2;
+
+    private final int z;
+
+    private final int x;
+
+    private final int y;
+
+    private final Layer substations = new Layer(SUBSTATIONS_LAYER);
+
+    private final Layer lines = new Layer(LINES_LAYER);
+
+    VectorTileEncoder(int z, int x, int y) {
+        if (!isValid(z, x, y)) {
+            throw new IllegalArgumentException("Invalid tile " + z + "/" + x + "/" + y);
+        }
+        this.z = z;
+        this.x = x;
+        this.y = y;
+    }
+
+    static boolean isValid(int z, int x, int y) {
+        return z >= 0 && z <= MAX_ZOOM && x >= 0 && y >= 0 && x < 1L << z && y < 1L << z;
+    }
+
+    /**
+     * Returns the bounding box of the tile extended by the buffer.
+     */
+    static BoundingBox getBoundingBox(int z, int x, int y) {
+        double n = Math.pow(2, z);
+        double buffer = (double) BUFFER / EXTENT;
+        return new BoundingBox(toLatitude(Math.min(n, y + 1 + buffer) / n), Math.max(-180, (x - buffer) / n * 360 - 180),
+            toLatitude(Math.max(0, y - buffer) / n), Math.min(180, (x + 1 + buffer) / n * 360 - 180));
+    }
+
+    // latitude of the given web mercator y, from 0 at the north to 1 at the south
+    private static double toLatitude(double mercatorY) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * mercatorY))));
+    }
+
+    private double[] project(Coordinate coordinate) {
+        double n = Math.pow(2, z);
+        double latitude = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, coordinate.getLatitude())));
+        double mercatorX = (coordinate.getLongitude() + 180) / 360;
+        double mercatorY = (1 - Math.log(Math.tan(latitude) + 1 / Math.cos(latitude)) / Math.PI) / 2;
+        return new double[] {(mercatorX * n - x) * EXTENT, (mercatorY * n - y) * EXTENT};
+    }
+
+    void addSubstation(SubstationGeoData substation) {
+        double[] point = project(substation.getCoordinate());
+        if (point[0] < -BUFFER || point[0] > EXTENT + BUFFER || point[1] < -BUFFER || point[1] > EXTENT + BUFFER) {
+            return;
+        }
+        GeometryWriter geometry = new GeometryWriter();
+        geometry.command(MOVE_TO, 1);
+        geometry.point((int) Math.round(point[0]), (int) Math.round(point[1]));
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("id", substation.getId());
+        putCountry(attributes, "country", substation.getCountry());
+        substations.addFeature(POINT, geometry, attributes);
+    }
+
+    void addLine(LineGeoData line) {
+        List<int[]> parts = clip(line.getCoordinates().stream().map(this::project).toList());
+        if (parts.isEmpty()) {
+            return;
+        }
+        GeometryWriter geometry = new GeometryWriter();
+        for (int[] part : parts) {
+            geometry.command(MOVE_TO, 1);
+            geometry.point(part[0], part[1]);
+            geometry.command(LINE_TO, part.length / 2 - 1);
+            for (int i = 2; i < part.length; i += 2) {
+                geometry.point(part[i], part[i + 1]);
+            }
+        }
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("id", line.getId());
+        putCountry(attributes, "country1", line.getCountry1());
+        putCountry(attributes, "country2", line.getCountry2());
+        lines.addFeature(LINESTRING, geometry, attributes);
+    }
+
+    private static void putCountry(Map<String, String> attributes, String key, Country country) {
+        if (country != null) {
+            attributes.put(key, country.name());
+        }
+    }
+
+    /**
+     * Clips the projected line to the buffered tile, returns the parts of the line in the tile as arrays of
+     * x and y integer coordinates without consecutive duplicates.
+     */
+    static List<int[]> clip(List<double[]> points) {
+        List<int[]> parts = new ArrayList<>();
+        PartBuilder part = new PartBuilder();
+        for (int i = 1; i < points.size(); i++) {
+            double[] segment = clipSegment(points.get(i - 1), points.get(i));
+            if (segment == null) {
+                part.flush(parts);
+                continue;
+            }
+            if (!part.isAt(segment[0], segment[1])) {
+                part.flush(parts);
+                part.add(segment[0], segment[1]);
+            }
+            part.add(segment[2], segment[3]);
+            // the line leaves the tile at the end of the clipped segment
+            if (segment[2] != points.get(i)[0] || segment[3] != points.get(i)[1]) {
+                part.flush(parts);
+            }
+        }
+        part.flush(parts);
+        return parts;
+    }
+
+    // Liang-Barsky clipping of a segment to the buffered tile, returns null if the segment is outside
+    private static double[] clipSegment(double[] from, double[] to) {
+        double dx = to[0] - from[0];
+        double dy = to[1] - from[1];
+        double[] p = {-dx, dx, -dy, dy};
+        double[] q = {from[0] + BUFFER, EXTENT + BUFFER - from[0], from[1] + BUFFER, EXTENT + BUFFER - from[1]};
+        double t0 = 0;
+        double t1 = 1;
+        for (int i = 0; i < 4; i++) {
+            if (p[i] == 0) {
+                if (q[i] < 0) {
+                    return null;
+                }
+            } else {
+                double t = q[i] / p[i];
+                if (p[i] < 0) {
+                    t0 = Math.max(t0, t);
+                } else {
+                    t1 = Math.min(t1, t);
+                }
+            }
+        }
+        if (t0 > t1) {
+            return null;
+        }
+        return new double[] {
+            t0 == 0 ? from[0] : from[0] + t0 * dx, t0 == 0 ? from[1] : from[1] + t0 * dy,
+            t1 == 1 ? to[0] : from[0] + t1 * dx, t1 == 1 ? to[1] : from[1] + t1 * dy
+        };
+    }
+
+    byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Layer layer : List.of(substations, lines)) {
+            if (!layer.features.isEmpty()) {
+                // Tile.layers
+                writeBytes(out, 3, layer.encode());
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static final class PartBuilder {
+
+        private final List<Integer> coordinates = new ArrayList<>();
+
+        private double lastX = Double.NaN;
+
+        private double lastY = Double.NaN;
+
+        private boolean isAt(double px, double py) {
+            return px == lastX && py == lastY;
+        }
+
+        private void add(double px, double py) {
+            lastX = px;
+            lastY = py;
+            int ix = (int) Math.round(px);
+            int iy = (int) Math.round(py);
+            int n = coordinates.size();
+            if (n == 0 || coordinates.get(n - 2).intValue() != ix || coordinates.get(n - 1).intValue() != iy) {
+                coordinates.add(ix);
+                coordinates.add(iy);
+            }
+        }
+
+        private void flush(List<int[]> parts) {
+            if (coordinates.size() >= 4) {
+                parts.add(coordinates.stream().mapToInt(Integer::intValue).toArray());
+            }
+            coordinates.clear();
+            lastX = Double.NaN;
+            lastY = Double.NaN;
+        }
+    }
+
+    private static final class GeometryWriter {
+
+        private final List<Integer> integers = new ArrayList<>();
+
+        private int cursorX;
+
+        private int cursorY;
+
+        private void command(int id, int count) {
+            integers.add((id & 0x7) | (count << 3));
+        }
+
+        private void point(int px, int py) {
+            integers.add(zigzag(px - cursorX));
+            integers.add(zigzag(py - cursorY));
+            cursorX = px;
+            cursorY = py;
+        }
+
+        private static int zigzag(int value) {
+            return (value << 1) ^ (value >> 31);
+        }
+    }
+
+    private static final class Layer {
+
+        private final String name;
+
+        private final List<byte[]> features = new ArrayList<>();
+
+        private final Map<String, Integer> keys = new LinkedHashMap<>();
+
+        private final Map<String, Integer> values = new LinkedHashMap<>();
+
+        private Layer(String name) {
+            this.name = name;
+        }
+
+        private void addFeature(int type, GeometryWriter geometry, Map<String, String> attributes) {
+            List<Integer> tags = new ArrayList<>(2 * attributes.size());
+            attributes.forEach((key, value) -> {
+                tags.add(keys.computeIfAbsent(key, k -> keys.size()));
+                tags.add(values.computeIfAbsent(value, v -> values.size()));
+            });
+            ByteArrayOutputStream feature = new ByteArrayOutputStream();
+            // Feature.tags, Feature.type and Feature.geometry
+            writePacked(feature, 2, tags);
+            writeVarint(feature, 3, type);
+            writePacked(feature, 4, geometry.integers);
+            features.add(feature.toByteArray());
+        }
+
+        private byte[] encode() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            // Layer.version, Layer.name, Layer.features, Layer.keys, Layer.values and Layer.extent
+            writeVarint(out, 15, 2);
+            writeString(out, 1, name);
+            features.forEach(feature -> writeBytes(out, 2, feature));
+            keys.keySet().forEach(key -> writeString(out, 3, key));
+            values.keySet().forEach(value -> {
+                ByteArrayOutputStream valueOut = new ByteArrayOutputStream();
+                // Value.string_value
+                writeString(valueOut, 1, value);
+                writeBytes(out, 4, valueOut.toByteArray());
+            });
+            writeVarint(out, 5, EXTENT);
+            return out.toByteArray();
+        }
+    }
+
+    private static void writeTag(ByteArrayOutputStream out, int field, int wireType) {
+        writeRawVarint(out, (long) field << 3 | wireType);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int field, long value) {
+        writeTag(out, field, VARINT);
+        writeRawVarint(out, value);
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, int field, byte[] bytes) {
+        writeTag(out, field, LENGTH_DELIMITED);
+        writeRawVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, int field, String value) {
+        writeBytes(out, field, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writePacked(ByteArrayOutputStream out, int field, List<Integer> values) {
+        ByteArrayOutputStream packed = new ByteArrayOutputStream();
+        // the values are unsigned 32 bits integers
+        values.forEach(value -> writeRawVarint(packed, value & 0xFFFFFFFFL));
+        writeBytes(out, field, packed.toByteArray());
+    }
+
+    private static void writeRawVarint(ByteArrayOutputStream out, long value) {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+}
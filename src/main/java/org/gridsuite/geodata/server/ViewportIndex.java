@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import org.gridsuite.geodata.server.dto.SubstationGeoData;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Spatial index of the substations layout of a network variant and of its lines, over a uniform grid.
+ * <p>
+ * A line is indexed with the bounding box of its end substations positions and of its stored coordinates,
+ * the lines whose end substations positions are unknown are not indexed. The clusters hierarchy of the substations
+ * is also kept with the index, as well as the ids of all the substations and lines of the network, to find the indexes
+ * affected by the saved geo data.
+ *
+ * @author agent <agent at local>
+ */
+final class ViewportIndex {
+
+    // size in degrees of the grid cells
+    static final double CELL_SIZE = 0.5;
+
+    /**
+     * A line of the network, with the bounding box of its stored coordinates if known.
+     */
+    record IndexedLine(String id, String substation1, String substation2, BoundingBox storedBoundingBox) {
+    }
+
+    private final List<SubstationGeoData> substations;
+
+    private final Map<String, SubstationGeoData> substationsById;
+
+    private final Map<Long, int[]> substationCells;
+
+    private final List<String> lineIds = new ArrayList<>();
+
+    private final List<BoundingBox> lineBoundingBoxes = new ArrayList<>();
+
+    private final Map<Long, int[]> lineCells;
+
+    private final Set<String> networkSubstationIds;
+
+    private final Set<String> networkLineIds = new HashSet<>();
+
+    // built on the first clusters request
+    private volatile SubstationClusterIndex clusterIndex;
+
+    /**
+     * @param substations the substations layout
+     * @param networkSubstationIds the ids of all the substations of the network, positioned or not
+     * @param lines all the lines of the network
+     */
+    ViewportIndex(List<SubstationGeoData> substations, Collection<String> networkSubstationIds, Collection<IndexedLine> lines) {
+        this.substations = List.copyOf(substations);
+        this.networkSubstationIds = new HashSet<>(networkSubstationIds);
+        substationsById = new HashMap<>(substations.size());
+        Map<Long, List<Integer>> substationCellsBuilder = new HashMap<>();
+        for (int i = 0; i < this.substations.size(); i++) {
+            SubstationGeoData substation = this.substations.get(i);
+            substationsById.put(substation.getId(), substation);
+            add(substationCellsBuilder, i, BoundingBox.of(substation.getCoordinate()));
+        }
+        substationCells = toCells(substationCellsBuilder);
+
+        Map<Long, List<Integer>> lineCellsBuilder = new HashMap<>();
+        for (IndexedLine line : lines) {
+            networkLineIds.add(line.id());
+            SubstationGeoData substation1 = substationsById.get(line.substation1());
+            SubstationGeoData substation2 = substationsById.get(line.substation2());
+            if (substation1 == null || substation2 == null) {
+                continue;
+            }
+            BoundingBox boundingBox = BoundingBox.of(substation1.getCoordinate()).union(BoundingBox.of(substation2.getCoordinate()));
+            if (line.storedBoundingBox() != null) {
+                boundingBox = boundingBox.union(line.storedBoundingBox());
+            }
+            add(lineCellsBuilder, lineIds.size(), boundingBox);
+            lineIds.add(line.id());
+            lineBoundingBoxes.add(boundingBox);
+        }
+        lineCells = toCells(lineCellsBuilder);
+    }
+
+    /**
+     * Returns the positions of the substations in the given bounding box, in the layout order.
+     */
+    List<SubstationGeoData> getSubstations(BoundingBox boundingBox) {
+        List<SubstationGeoData> result = new ArrayList<>();
+        for (int i : getCandidates(substationCells, boundingBox)) {
+            SubstationGeoData substation = substations.get(i);
+            if (boundingBox.contains(substation.getCoordinate())) {
+                result.add(substation);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ids of the lines whose bounding box intersects the given one.
+     */
+    List<String> getLineIds(BoundingBox boundingBox) {
+        List<String> result = new ArrayList<>();
+        for (int i : getCandidates(lineCells, boundingBox)) {
+            if (boundingBox.intersects(lineBoundingBoxes.get(i))) {
+                result.add(lineIds.get(i));
+            }
+        }
+        return result;
+    }
+
+    SubstationClusterIndex getClusterIndex() {
+        SubstationClusterIndex result = clusterIndex;
+        if (result == null) {
+            synchronized (this) {
+                if (clusterIndex == null) {
+                    clusterIndex = new SubstationClusterIndex(substations);
+                }
+                result = clusterIndex;
+            }
+        }
+        return result;
+    }
+
+    Map<String, SubstationGeoData> getSubstationsById() {
+        return Collections.unmodifiableMap(substationsById);
+    }
+
+    /**
+     * Returns true if the network contains one of the given substations or lines.
+     */
+    boolean containsAny(Collection<String> substationIds, Collection<String> lineIds) {
+        return substationIds.stream().anyMatch(networkSubstationIds::contains) || lineIds.stream().anyMatch(networkLineIds::contains);
+    }
+
+    int weight() {
+        return substations.size() + lineIds.size();
+    }
+
+    private static void add(Map<Long, List<Integer>> cells, int i, BoundingBox boundingBox) {
+        for (int row = row(boundingBox.minLatitude()); row <= row(boundingBox.maxLatitude()); row++) {
+            for (int column = column(boundingBox.minLongitude()); column <= column(boundingBox.maxLongitude()); column++) {
+                cells.computeIfAbsent(key(row, column), k -> new ArrayList<>()).add(i);
+            }
+        }
+    }
+
+    private static Map<Long, int[]> toCells(Map<Long, List<Integer>> cellsBuilder) {
+        Map<Long, int[]> cells = new HashMap<>(cellsBuilder.size());
+        cellsBuilder.forEach((key, values) -> cells.put(key, values.stream().mapToInt(Integer::intValue).toArray()));
+        return cells;
+    }
+
+    private static int[] getCandidates(Map<Long, int[]> cells, BoundingBox boundingBox) {
+        int minRow = row(boundingBox.minLatitude());
+        int maxRow = row(boundingBox.maxLatitude());
+        int minColumn = column(boundingBox.minLongitude());
+        int maxColumn = column(boundingBox.maxLongitude());
+        IntStream.Builder candidates = IntStream.builder();
+        if (((long) maxRow - minRow + 1) * ((long) maxColumn - minColumn + 1) > cells.size()) {
+            // large bounding box, cheaper to go through the non empty cells
+            cells.forEach((key, values) -> {
+                int row = (int) (key >> 32);
+                int column = (int) (long) key;
+                if (row >= minRow && row <= maxRow && column >= minColumn && column <= maxColumn) {
+                    Arrays.stream(values).forEach(candidates);
+                }
+            });
+        } else {
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int column = minColumn; column <= maxColumn; column++) {
+                    int[] values = cells.get(key(row, column));
+                    if (values != null) {
+                        Arrays.stream(values).forEach(candidates);
+                    }
+                }
+            }
+        }
+        return candidates.build().sorted().distinct().toArray();
+    }
+
+    // the positions out of the latitudes and longitudes ranges are in the border cells, so the grid stays bounded
+    private static int row(double latitude) {
+        return cell(Math.max(-90, Math.min(90, latitude)));
+    }
+
+    private static int column(double longitude) {
+        return cell(Math.max(-180, Math.min(180, longitude)));
+    }
+
+    private static int cell(double degrees) {
+        return (int) Math.floor(degrees / CELL_SIZE);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+}
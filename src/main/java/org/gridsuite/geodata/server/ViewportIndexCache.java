@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the viewport indexes of the network variants.
+ * The cache is bounded by the total number of indexed substations and lines: least recently used indexes are
+ * evicted first, and indexes older than the configured time to live are rebuilt.
+ * <p>
+ * The writes of this instance invalidate the indexes of the network variants they affect. The lines saved by the
+ * other instances are only seen once the indexes have expired, hence a short time to live.
+ *
+ * @author agent <agent at local>
+ */
+@Service
+public class ViewportIndexCache {
+
+    record Key(UUID networkUuid, String variantId) {
+        Key {
+            Objects.requireNonNull(networkUuid);
+            Objects.requireNonNull(variantId);
+        }
+    }
+
+    private final WeightedCache<Key, ViewportIndex> cache;
+
+    public ViewportIndexCache(@Value("${network-geo-data.viewport-index-cache.max-elements:500000}") long maxElements,
+                              @Value("${network-geo-data.viewport-index-cache.ttl:PT5M}") Duration ttl) {
+        cache = new WeightedCache<>(maxElements, ttl, ViewportIndex::weight);
+    }
+
+    /**
+     * Returns the cached index for the given key, building and caching it if needed.
+     */
+    ViewportIndex get(Key key, Supplier<ViewportIndex> indexSupplier) {
+        return cache.get(key, indexSupplier);
+    }
+
+    /**
+     * Invalidates the indexes of the network variants containing one of the given substations or lines, and returns
+     * the keys of the cached indexes which are kept.
+     */
+    Set<Key> invalidate(Collection<String> substationIds, Collection<String> lineIds) {
+        Set<Key> keptKeys = new HashSet<>();
+        cache.invalidateIf((key, index) -> {
+            boolean affected = index.containsAny(substationIds, lineIds);
+            if (!affected) {
+                keptKeys.add(key);
+            }
+            return affected;
+        });
+        return keptKeys;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    int size() {
+        return cache.size();
+    }
+}
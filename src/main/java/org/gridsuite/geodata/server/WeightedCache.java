@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Least recently used cache bounded by the total weight of its values, whose values expire after the time to live.
+ * <p>
+ * The values are computed outside the lock, so concurrent misses on the same key may compute the value twice. The
+ * values computed before an invalidation are not cached.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @author agent <agent at local>
+ */
+final class WeightedCache<K, V> {
+
+    private record Entry<V>(V value, long weight, long expirationTime) {
+    }
+
+    private final long maxWeight;
+
+    private final long ttlNanos;
+
+    private final ToLongFunction<V> weigher;
+
+    private final Consumer<Boolean> lookupListener;
+
+    // access ordered, so the first entry is the least recently used one
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalWeight;
+
+    // incremented on each invalidation
+    private long generation;
+
+    WeightedCache(long maxWeight, Duration ttl, ToLongFunction<V> weigher) {
+        this(maxWeight, ttl, weigher, hit -> { });
+    }
+
+    /**
+     * @param lookupListener notified of each lookup, with true on a hit
+     */
+    WeightedCache(long maxWeight, Duration ttl, ToLongFunction<V> weigher, Consumer<Boolean> lookupListener) {
+        this.maxWeight = maxWeight;
+        this.ttlNanos = ttl.toNanos();
+        this.weigher = weigher;
+        this.lookupListener = lookupListener;
+    }
+
+    /**
+     * Returns the cached value for the given key, computing and caching it if needed.
+     */
+    V get(K key, Supplier<V> valueSupplier) {
+        long currentGeneration;
+        V value;
+        synchronized (this) {
+            currentGeneration = generation;
+            value = getIfPresent(key);
+        }
+        lookupListener.accept(value != null);
+        if (value == null) {
+            value = valueSupplier.get();
+            put(key, value, currentGeneration);
+        }
+        return value;
+    }
+
+    private V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expirationTime() >= 0) {
+            remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private synchronized void put(K key, V value, long valueGeneration) {
+        long weight = Math.max(1, weigher.applyAsLong(value));
+        if (valueGeneration != generation || weight > maxWeight) {
+            return;
+        }
+        remove(key);
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (totalWeight + weight > maxWeight && it.hasNext()) {
+            totalWeight -= it.next().weight();
+            it.remove();
+        }
+        entries.put(key, new Entry<>(value, weight, System.nanoTime() + ttlNanos));
+        totalWeight += weight;
+    }
+
+    private void remove(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            totalWeight -= removed.weight();
+        }
+    }
+
+    synchronized void invalidateAll() {
+        entries.clear();
+        totalWeight = 0;
+        generation++;
+    }
+
+    /**
+     * Invalidates the entries matching the given predicate. As with {@link #invalidateAll()}, none of the values being
+     * computed is cached.
+     */
+    synchronized void invalidateIf(BiPredicate<K, V> predicate) {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = it.next();
+            if (predicate.test(entry.getKey(), entry.getValue().value())) {
+                totalWeight -= entry.getValue().weight();
+                it.remove();
+            }
+        }
+        generation++;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.dto;
+
+import com.powsybl.iidm.network.Country;
+import lombok.*;
+
+/**
+ * Line geographical data whose coordinates are an encoded polyline at the given decimal precision.
+ *
+ * @author agent <agent at local>
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+@ToString
+public class EncodedLineGeoData {
+
+    private String id;
+
+    private Country country1;
+
+    private Country country2;
+
+    private String substationStart;
+
+    private String substationEnd;
+
+    private int precision;
+
+    private String coordinates;
+}
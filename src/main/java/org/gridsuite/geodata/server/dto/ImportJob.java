@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * State of an asynchronous supervision import: the number of lines read so far and the throughput in lines per
+ * second, then the report of a succeeded import or the error of a failed one. A failed import reports the lines saved
+ * before an invalid line, if any.
+ *
+ * @author agent <agent at local>
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+@ToString
+public class ImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+
+    private UUID id;
+
+    private Status status;
+
+    private boolean cancelRequested;
+
+    private int processed;
+
+    private double throughput;
+
+    private String error;
+
+    private ImportReport report;
+
+    private Instant createdAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+}
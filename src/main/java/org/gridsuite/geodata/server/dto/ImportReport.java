@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.dto;
+
+import lombok.*;
+
+/**
+ * Numbers of substations or lines inserted, updated, unchanged and deleted by a supervision import.
+ * The lines between two countries are counted once.
+ *
+ * @author agent <agent at local>
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+@ToString
+@EqualsAndHashCode
+public class ImportReport {
+
+    private int inserted;
+
+    private int updated;
+
+    private int unchanged;
+
+    private int deleted;
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Substations and lines geographical data of a network, computed from the same substations layout.
+ *
+ * @author agent <agent at local>
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class NetworkGeoData {
+
+    private List<SubstationGeoData> substations = new ArrayList<>();
+
+    private List<LineGeoData> lines = new ArrayList<>();
+}
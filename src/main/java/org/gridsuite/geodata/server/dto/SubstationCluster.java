@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.dto;
+
+import com.powsybl.iidm.network.extensions.Coordinate;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Cluster of substations at a zoom level, with the centroid and the bounding box of their positions.
+ * The small clusters have the ids of their substations, the others a token to get their clusters at the next
+ * zoom level.
+ *
+ * @author agent <agent at local>
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+@ToString
+public class SubstationCluster {
+
+    private int zoom;
+
+    private int count;
+
+    private Coordinate coordinate;
+
+    private double minLatitude;
+
+    private double minLongitude;
+
+    private double maxLatitude;
+
+    private double maxLongitude;
+
+    private List<String> substationIds;
+
+    private String token;
+}
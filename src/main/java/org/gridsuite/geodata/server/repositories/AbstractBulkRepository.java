@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.repositories;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * JDBC batches of upsert statements: INSERT ... ON CONFLICT on PostgreSQL, and MERGE on H2.
+ * <p>
+ * {@code saveAll} of the JPA repositories selects each entity before inserting or updating it, because the ids
+ * are assigned, which makes a round trip per entity.
+ * <p>
+ * Each row stores a fingerprint of its content, the content hash: the hashes of the entities of a batch are read in
+ * a single query, and only the new entities and the ones whose content has changed are written. The content hash of
+ * the rows written by JPA is null, they are always rewritten.
+ * <p>
+ * A full sync also deletes the rows which are not in the given entities.
+ *
+ * @author agent <agent at local>
+ */
+abstract class AbstractBulkRepository<T> {
+
+    private static final String ID = "id";
+
+    private static final String CONTENT_HASH = "content_hash";
+
+    // ids of the rows of the syncs in progress
+    private static final String SYNC_TABLE = "bulk_sync_id";
+
+    private static final String SYNC_ID = "sync_id";
+
+    /**
+     * A column of the table, other than the id and the content hash.
+     */
+    protected record Column(String name, int sqlType) {
+    }
+
+    private record Row(String id, Object[] values, long contentHash) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    private final String table;
+
+    private final List<Column> columns;
+
+    private volatile Boolean h2;
+
+    protected AbstractBulkRepository(JdbcTemplate jdbcTemplate, int batchSize, String table, List<Column> columns) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.table = table;
+        this.columns = List.copyOf(columns);
+    }
+
+    protected abstract String getId(T entity);
+
+    /**
+     * Returns the values of the columns of the given entity, in the order of the columns.
+     */
+    protected abstract Object[] getValues(T entity);
+
+    private boolean isH2() {
+        Boolean result = h2;
+        if (result == null) {
+            String databaseProductName = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            result = "H2".equals(databaseProductName);
+            h2 = result;
+        }
+        return result;
+    }
+
+    /**
+     * Upserts the given entities whose content has changed, the last one of the entities with the same id is kept
+     * as with saveAll.
+     */
+    protected BulkWriteResult upsertChanged(Collection<T> entities) {
+        Map<String, T> entitiesById = new LinkedHashMap<>();
+        entities.forEach(entity -> entitiesById.put(getId(entity), entity));
+
+        int inserted = 0;
+        int updated = 0;
+        List<Row> changedRows = new ArrayList<>();
+        List<String> ids = new ArrayList<>(entitiesById.keySet());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<String> batchIds = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            Map<String, Long> storedHashes = getContentHashes(batchIds);
+            for (String id : batchIds) {
+                Object[] values = getValues(entitiesById.get(id));
+                long contentHash = getContentHash(values);
+                if (!storedHashes.containsKey(id)) {
+                    inserted++;
+                } else if (!Objects.equals(storedHashes.get(id), contentHash)) {
+                    updated++;
+                } else {
+                    continue;
+                }
+                changedRows.add(new Row(id, values, contentHash));
+            }
+        }
+
+        if (!changedRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(getUpsertSql(), changedRows, batchSize, (statement, row) -> {
+                statement.setString(1, row.id());
+                for (int i = 0; i < columns.size(); i++) {
+                    statement.setObject(i + 2, row.values()[i], columns.get(i).sqlType());
+                }
+                statement.setLong(columns.size() + 2, row.contentHash());
+            });
+        }
+        return new BulkWriteResult(inserted, updated, ids.size() - inserted - updated);
+    }
+
+    /**
+     * Upserts the entities of the given batches as {@link #upsertChanged}, then deletes the rows whose id is not in
+     * them. The ids of the batches are staged in the sync table under an id of this sync, so that the rows to delete
+     * are found by the database without loading the ids. It has to run in a transaction, so that the rows are deleted
+     * in the same transaction as the upserts and the staged ids are only seen by this sync.
+     */
+    protected BulkSyncResult syncBatches(Iterator<? extends Collection<T>> batches) {
+        UUID syncId = UUID.randomUUID();
+        BulkWriteResult written = BulkWriteResult.EMPTY;
+        while (batches.hasNext()) {
+            Collection<T> batch = batches.next();
+            written = written.plus(upsertChanged(batch));
+            List<String> ids = batch.stream().map(this::getId).distinct().toList();
+            jdbcTemplate.batchUpdate("INSERT INTO " + SYNC_TABLE + " (" + SYNC_ID + ", " + ID + ") VALUES (?, ?)", ids, batchSize, (statement, id) -> {
+                statement.setObject(1, syncId);
+                statement.setString(2, id);
+            });
+        }
+        int deleted = jdbcTemplate.update("DELETE FROM " + table + " t WHERE NOT EXISTS (SELECT 1 FROM " + SYNC_TABLE + " s WHERE s."
+            + SYNC_ID + " = ? AND s." + ID + " = t." + ID + ")", syncId);
+        jdbcTemplate.update("DELETE FROM " + SYNC_TABLE + " WHERE " + SYNC_ID + " = ?", syncId);
+        return new BulkSyncResult(written, deleted);
+    }
+
+    private Map<String, Long> getContentHashes(List<String> ids) {
+        Map<String, Long> contentHashes = new HashMap<>();
+        String sql = "SELECT " + ID + ", " + CONTENT_HASH + " FROM " + table + " WHERE " + ID + " IN ("
+            + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        jdbcTemplate.query(sql, resultSet -> {
+            long contentHash = resultSet.getLong(2);
+            contentHashes.put(resultSet.getString(1), resultSet.wasNull() ? null : contentHash);
+        }, ids.toArray());
+        return contentHashes;
+    }
+
+    // stable 64 bits fingerprint of the values, each value is prefixed by its type so that null and empty differ
+    private long getContentHash(Object[] values) {
+        Hasher hasher = Hashing.farmHashFingerprint64().newHasher();
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                hasher.putByte((byte) 0);
+            } else if (value instanceof String s) {
+                hasher.putByte((byte) 1).putInt(s.length()).putString(s, StandardCharsets.UTF_8);
+            } else if (value instanceof Boolean b) {
+                hasher.putByte((byte) 2).putBoolean(b);
+            } else if (value instanceof Double d) {
+                hasher.putByte((byte) 3).putDouble(d);
+            } else if (value instanceof byte[] bytes) {
+                hasher.putByte((byte) 4).putInt(bytes.length).putBytes(bytes);
+            } else {
+                throw new IllegalArgumentException("Unsupported value type of column " + columns.get(i).name() + ": " + value.getClass());
+            }
+        }
+        return hasher.hash().asLong();
+    }
+
+    private String getUpsertSql() {
+        List<String> names = new ArrayList<>();
+        names.add(ID);
+        columns.forEach(column -> names.add(column.name()));
+        names.add(CONTENT_HASH);
+        String columnList = String.join(", ", names);
+        String parameters = String.join(", ", Collections.nCopies(names.size(), "?"));
+        if (isH2()) {
+            return "MERGE INTO " + table + " (" + columnList + ") KEY (" + ID + ") VALUES (" + parameters + ")";
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO " + table + " (" + columnList + ") VALUES (" + parameters + ") ON CONFLICT (" + ID + ") DO UPDATE SET ");
+        for (int i = 1; i < names.size(); i++) {
+            sql.append(i > 1 ? ", " : "").append(names.get(i)).append(" = EXCLUDED.").append(names.get(i));
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,15 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.repositories;
+
+/**
+ * Result of a full sync: the bulk write of the given rows, and the number of the other rows, deleted.
+ *
+ * @author agent <agent at local>
+ */
+public record BulkSyncResult(BulkWriteResult written, int deleted) {
+}
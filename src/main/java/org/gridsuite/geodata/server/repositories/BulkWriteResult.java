@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.repositories;
+
+/**
+ * Numbers of rows inserted, updated, and left unchanged because their content was the same, by a bulk write.
+ *
+ * @author agent <agent at local>
+ */
+public record BulkWriteResult(int inserted, int updated, int unchanged) {
+
+    public static final BulkWriteResult EMPTY = new BulkWriteResult(0, 0, 0);
+
+    public BulkWriteResult plus(BulkWriteResult other) {
+        return new BulkWriteResult(inserted + other.inserted, updated + other.updated, unchanged + other.unchanged);
+    }
+
+    public int written() {
+        return inserted + updated;
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.repositories;
+
+import org.apache.commons.math3.util.Precision;
+
+/**
+ * Rounding of the coordinates to a number of decimals, with the same results as {@link Precision#round(double, int)}
+ * but without going through a {@code BigDecimal}.
+ * <p>
+ * {@code Precision.round} rounds half up the decimal representation of the value. The value scaled by the power of
+ * ten differs from this decimal scaled by a few ulps at most, so the rounding is done on the scaled value unless it
+ * is that close to a tie, where {@code Precision.round} is used. The rounded value is the division of two exactly
+ * represented values, which is correctly rounded as the conversion of the {@code BigDecimal}.
+ *
+ * @author agent <agent at local>
+ */
+public final class DecimalRounding {
+
+    private static final int MAX_SCALE = 15;
+
+    // powers of ten exactly represented as doubles
+    private static final double[] POWERS_OF_TEN = new double[MAX_SCALE + 1];
+
+    // above, the scaled value hasn't enough fractional bits left to tell the tie
+    private static final double MAX_SCALED_VALUE = 0x1p50;
+
+    // bound of the difference between the scaled value and the scaled decimal representation
+    private static final int TIE_MARGIN_ULPS = 4;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private DecimalRounding() {
+    }
+
+    /**
+     * Rounds the value half up to the given number of decimals, see {@link Precision#round(double, int)}.
+     */
+    public static double round(double value, int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            return Precision.round(value, scale);
+        }
+        double factor = POWERS_OF_TEN[scale];
+        double scaled = Math.abs(value) * factor;
+        // also NaN and infinities
+        if (!(scaled < MAX_SCALED_VALUE)) {
+            return Precision.round(value, scale);
+        }
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        if (Math.abs(fraction - 0.5) <= TIE_MARGIN_ULPS * Math.ulp(scaled)) {
+            return Precision.round(value, scale);
+        }
+        double rounded = fraction > 0.5 ? floor + 1 : floor;
+        // negative values rounded to zero give a negative zero, as with Precision.round
+        return Math.copySign(rounded / factor, value);
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.repositories;
+
+/**
+ * Bounding box of the stored coordinates of a line, null for the lines stored before the bounding boxes.
+ *
+ * @author agent <agent at local>
+ */
+public interface LineBoundingBox {
+
+    String getId();
+
+    Double getMinLatitude();
+
+    Double getMinLongitude();
+
+    Double getMaxLatitude();
+
+    Double getMaxLongitude();
+}
@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.repositories;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Bulk writes of the lines, without loading them first.
+ *
+ * @author agent <agent at local>
+ */
+public interface LineBulkRepository {
+
+    /**
+     * Inserts the given lines or updates them if they already exist with a different content, in a single
+     * transaction.
+     */
+    BulkWriteResult upsertAll(Collection<LineEntity> lines);
+
+    /**
+     * Upserts the lines of the given batches as {@link #upsertAll} and deletes the other ones, in a single
+     * transaction. The batches are read one at a time, so they can be read from a stream of lines.
+     */
+    BulkSyncResult syncAll(Iterator<? extends Collection<LineEntity>> batches);
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * @author agent <agent at local>
+ */
+public class LineBulkRepositoryImpl extends AbstractBulkRepository<LineEntity> implements LineBulkRepository {
+
+    private static final List<Column> COLUMNS = List.of(new Column("country", Types.VARCHAR), new Column("other_country", Types.VARCHAR),
+        new Column("side1", Types.BOOLEAN), new Column("substation_start", Types.VARCHAR), new Column("substation_end", Types.VARCHAR),
+        new Column("coordinates", Types.VARCHAR), new Column("binary_coordinates", Types.BINARY), new Column("simplified_coordinates", Types.BINARY),
+        new Column("min_latitude", Types.DOUBLE), new Column("min_longitude", Types.DOUBLE),
+        new Column("max_latitude", Types.DOUBLE), new Column("max_longitude", Types.DOUBLE));
+
+    public LineBulkRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                  @Value("${network-geo-data.bulk-write.batch-size:1000}") int batchSize) {
+        super(jdbcTemplate, batchSize, "line_entity", COLUMNS);
+    }
+
+    @Override
+    protected String getId(LineEntity line) {
+        return line.getId();
+    }
+
+    @Override
+    protected Object[] getValues(LineEntity line) {
+        return new Object[] {line.getCountry(), line.getOtherCountry(), line.isSide1(), line.getSubstationStart(), line.getSubstationEnd(),
+            line.getCoordinates(), line.getBinaryCoordinates(), line.getSimplifiedCoordinates(),
+            line.getMinLatitude(), line.getMinLongitude(), line.getMaxLatitude(), line.getMaxLongitude()};
+    }
+
+    @Override
+    @Transactional
+    public BulkWriteResult upsertAll(Collection<LineEntity> lines) {
+        return upsertChanged(lines);
+    }
+
+    @Override
+    @Transactional
+    public BulkSyncResult syncAll(Iterator<? extends Collection<LineEntity>> batches) {
+        return syncBatches(batches);
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.repositories;
+
+import com.powsybl.iidm.network.extensions.Coordinate;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary format of the lines coordinates.
+ * <p>
+ * The coordinates are stored as fixed point integers at a given decimal precision: a format version byte, the
+ * precision and the number of coordinates, then for each coordinate the differences with the previous latitude
+ * and longitude, zigzag and varint encoded.
+ * <p>
+ * The simplified versions of a line are stored together: a format version byte and the number of levels, then
+ * for each level its tolerance, its length and its coordinates in the previous format.
+ *
+ * @author agent <agent at local>
+ */
+public final class LineCoordinatesCodec {
+
+    private static final int VERSION = 1;
+
+    // the fixed point values are decoded exactly up to this precision
+    private static final int MAX_PRECISION = 9;
+
+    private static final long MAX_FIXED_POINT_VALUE = 1L << 53;
+
+    private LineCoordinatesCodec() {
+    }
+
+    /**
+     * Encodes the coordinates at the given precision, or returns null if they are not exactly representable
+     * at this precision (the coordinates are expected to be already rounded).
+     */
+    public static byte[] encode(List<Coordinate> coordinates, int precision) {
+        if (precision < 0 || precision > MAX_PRECISION) {
+            return null;
+        }
+        double factor = Math.pow(10, precision);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(3 + 6 * coordinates.size());
+        out.write(VERSION);
+        writeVarint(out, precision);
+        writeVarint(out, coordinates.size());
+        long previousLatitude = 0;
+        long previousLongitude = 0;
+        for (Coordinate coordinate : coordinates) {
+            long latitude = toFixedPoint(coordinate.getLatitude(), factor);
+            long longitude = toFixedPoint(coordinate.getLongitude(), factor);
+            if (latitude == Long.MIN_VALUE || longitude == Long.MIN_VALUE) {
+                return null;
+            }
+            writeVarint(out, zigzag(latitude - previousLatitude));
+            writeVarint(out, zigzag(longitude - previousLongitude));
+            previousLatitude = latitude;
+            previousLongitude = longitude;
+        }
+        return out.toByteArray();
+    }
+
+    public static List<Coordinate> decode(byte[] bytes) {
+        Reader reader = new Reader(bytes);
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary coordinates version " + version);
+        }
+        long precision = reader.readVarint();
+        if (precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Unsupported binary coordinates precision " + precision);
+        }
+        double factor = Math.pow(10, precision);
+        long count = reader.readVarint();
+        // each coordinate takes at least two bytes
+        if (count > bytes.length / 2) {
+            throw new IllegalArgumentException("Invalid binary coordinates count " + count);
+        }
+        List<Coordinate> coordinates = new ArrayList<>((int) count);
+        long latitude = 0;
+        long longitude = 0;
+        for (int i = 0; i < count; i++) {
+            latitude += unzigzag(reader.readVarint());
+            longitude += unzigzag(reader.readVarint());
+            coordinates.add(new Coordinate(latitude / factor, longitude / factor));
+        }
+        if (reader.position != bytes.length) {
+            throw new IllegalArgumentException("Unexpected content after binary coordinates");
+        }
+        return coordinates;
+    }
+
+    /**
+     * Encodes several simplified versions of the coordinates of a line, each one with the tolerance it has been
+     * simplified with, or returns null if they are not exactly representable at this precision.
+     */
+    public static byte[] encodeLevels(double[] tolerances, List<List<Coordinate>> levels, int precision) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(VERSION);
+        writeVarint(out, levels.size());
+        for (int i = 0; i < levels.size(); i++) {
+            byte[] level = encode(levels.get(i), precision);
+            if (level == null) {
+                return null;
+            }
+            long toleranceBits = Double.doubleToLongBits(tolerances[i]);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (toleranceBits >>> shift));
+            }
+            writeVarint(out, level.length);
+            out.write(level, 0, level.length);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns the coordinates of the level simplified with the largest tolerance lower or equal to the given one,
+     * or null if there is none.
+     */
+    public static List<Coordinate> decodeLevel(byte[] bytes, double tolerance) {
+        Reader reader = new Reader(bytes);
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary coordinates version " + version);
+        }
+        long count = reader.readVarint();
+        int bestFrom = -1;
+        int bestLength = 0;
+        double bestTolerance = Double.NEGATIVE_INFINITY;
+        for (long i = 0; i < count; i++) {
+            long toleranceBits = 0;
+            for (int j = 0; j < 8; j++) {
+                toleranceBits = toleranceBits << 8 | reader.readByte();
+            }
+            double levelTolerance = Double.longBitsToDouble(toleranceBits);
+            long length = reader.readVarint();
+            if (length > bytes.length - reader.position) {
+                throw new IllegalArgumentException("Truncated binary coordinates");
+            }
+            if (levelTolerance <= tolerance && levelTolerance > bestTolerance) {
+                bestFrom = reader.position;
+                bestLength = (int) length;
+                bestTolerance = levelTolerance;
+            }
+            reader.position += (int) length;
+        }
+        return bestFrom >= 0 ? decode(Arrays.copyOfRange(bytes, bestFrom, bestFrom + bestLength)) : null;
+    }
+
+    // returns Long.MIN_VALUE if the value is not exactly decoded from its fixed point representation
+    private static long toFixedPoint(double value, double factor) {
+        double scaled = Math.rint(value * factor);
+        if (!(Math.abs(scaled) < MAX_FIXED_POINT_VALUE)) {
+            return Long.MIN_VALUE;
+        }
+        long fixedPoint = (long) scaled;
+        // the division of two exactly represented values is correctly rounded, which gives back the rounded value,
+        // but not a negative zero
+        return Double.compare(fixedPoint / factor, value) == 0 ? fixedPoint : Long.MIN_VALUE;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+
+        private int position;
+
+        private Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private int readByte() {
+            if (position == bytes.length) {
+                throw new IllegalArgumentException("Truncated binary coordinates");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Invalid varint in binary coordinates");
+        }
+    }
+}
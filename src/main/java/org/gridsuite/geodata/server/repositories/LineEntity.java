@@ -6,6 +6,7 @@
  */
 package org.gridsuite.geodata.server.repositories;
 
+import com.powsybl.iidm.network.extensions.Coordinate;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -14,6 +15,8 @@ import jakarta.persistence.Table;
 import lombok.*;
 import org.gridsuite.geodata.server.dto.LineGeoData;
 
+import java.util.List;
+
 /**
  * @author Chamseddine Benhamed <chamseddine.benhamed at rte-france.com>
  */
@@ -50,7 +53,56 @@ public class LineEntity {
     @Column(columnDefinition = "TEXT")
     private String coordinates;
 
+    // coordinates in the LineCoordinatesCodec format, the JSON coordinates are only kept when they can't be encoded
+    @Column
+    private byte[] binaryCoordinates;
+
+    // simplified versions of the binary coordinates, see LineCoordinatesCodec.encodeLevels
+    @Column
+    private byte[] simplifiedCoordinates;
+
+    // set by the coordinates migration when the JSON coordinates can't be encoded, so that they are not examined again
+    @Column
+    private Boolean jsonCoordinatesKept;
+
+    // bounding box of the coordinates
+    @Column
+    private Double minLatitude;
+
+    @Column
+    private Double minLongitude;
+
+    @Column
+    private Double maxLatitude;
+
+    @Column
+    private Double maxLongitude;
+
+    public static class LineEntityBuilder {
+
+        public LineEntityBuilder boundingBox(List<Coordinate> coordinates) {
+            if (coordinates == null || coordinates.isEmpty()) {
+                return this;
+            }
+            double minLat = Double.POSITIVE_INFINITY;
+            double minLon = Double.POSITIVE_INFINITY;
+            double maxLat = Double.NEGATIVE_INFINITY;
+            double maxLon = Double.NEGATIVE_INFINITY;
+            for (Coordinate coordinate : coordinates) {
+                minLat = Math.min(minLat, coordinate.getLatitude());
+                minLon = Math.min(minLon, coordinate.getLongitude());
+                maxLat = Math.max(maxLat, coordinate.getLatitude());
+                maxLon = Math.max(maxLon, coordinate.getLongitude());
+            }
+            return minLatitude(minLat).minLongitude(minLon).maxLatitude(maxLat).maxLongitude(maxLon);
+        }
+    }
+
     public static LineEntity create(LineGeoData l, boolean side1, String coordinates) {
+        return create(l, side1, coordinates, null, null);
+    }
+
+    public static LineEntity create(LineGeoData l, boolean side1, String coordinates, byte[] binaryCoordinates, byte[] simplifiedCoordinates) {
         return LineEntity.builder()
                 .country(side1 ? l.getCountry1().toString() : l.getCountry2().toString())
                 .otherCountry(side1 ? l.getCountry2().toString() : l.getCountry1().toString())
@@ -59,6 +111,9 @@ public class LineEntity {
                 .substationStart(l.getSubstationStart())
                 .substationEnd(l.getSubstationEnd())
                 .coordinates(coordinates)
+                .binaryCoordinates(binaryCoordinates)
+                .simplifiedCoordinates(simplifiedCoordinates)
+                .boundingBox(l.getCoordinates())
                 .build();
     }
 }
@@ -6,8 +6,13 @@
  */
 package org.gridsuite.geodata.server.repositories;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.List;
@@ -16,11 +21,51 @@ import java.util.List;
  * @author Chamseddine Benhamed <chamseddine.benhamed at rte-france.com>
  */
 @Repository
-public interface LineRepository extends JpaRepository<LineEntity, String> {
+public interface LineRepository extends JpaRepository<LineEntity, String>, LineBulkRepository {
 
     default List<LineEntity> findByCountryInOrOtherCountryIn(Collection<String> countries) {
         return findByCountryInOrOtherCountryIn(countries, countries);
     }
 
     List<LineEntity> findByCountryInOrOtherCountryIn(Collection<String> countries, Collection<String> countries2);
+
+    List<LineBoundingBox> findAllProjectedBy();
+
+    List<LineEntity> findByIdGreaterThanAndBinaryCoordinatesIsNullAndCoordinatesIsNotNullAndJsonCoordinatesKeptIsNullOrderByIdAsc(String id, Pageable pageable);
+
+    /**
+     * Replaces the JSON coordinates of a line by the binary ones, unless the line has been saved with binary
+     * coordinates in the meantime.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE LineEntity l SET l.binaryCoordinates = :binaryCoordinates, l.simplifiedCoordinates = :simplifiedCoordinates, l.coordinates = null, "
+        + "l.minLatitude = :minLatitude, l.minLongitude = :minLongitude, l.maxLatitude = :maxLatitude, l.maxLongitude = :maxLongitude "
+        + "WHERE l.id = :id AND l.binaryCoordinates IS NULL")
+    int setBinaryCoordinates(@Param("id") String id, @Param("binaryCoordinates") byte[] binaryCoordinates,
+                             @Param("simplifiedCoordinates") byte[] simplifiedCoordinates,
+                             @Param("minLatitude") Double minLatitude, @Param("minLongitude") Double minLongitude,
+                             @Param("maxLatitude") Double maxLatitude, @Param("maxLongitude") Double maxLongitude);
+
+    /**
+     * Marks the JSON coordinates of the given lines as not encodable, unless the lines have been saved with binary
+     * coordinates in the meantime.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE LineEntity l SET l.jsonCoordinatesKept = true WHERE l.id IN :ids AND l.binaryCoordinates IS NULL")
+    int setJsonCoordinatesKept(@Param("ids") Collection<String> ids);
+
+    /**
+     * Sets the binary coordinates of the given lines in a single transaction, returns the number of updated lines.
+     */
+    @Transactional
+    default int setBinaryCoordinates(List<LineEntity> lines) {
+        int updated = 0;
+        for (LineEntity line : lines) {
+            updated += setBinaryCoordinates(line.getId(), line.getBinaryCoordinates(), line.getSimplifiedCoordinates(),
+                line.getMinLatitude(), line.getMinLongitude(), line.getMaxLatitude(), line.getMaxLongitude());
+        }
+        return updated;
+    }
 }
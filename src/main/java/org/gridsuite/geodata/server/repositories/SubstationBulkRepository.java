@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.repositories;
+
+import java.util.Collection;
+
+/**
+ * Bulk writes of the substations, without loading them first.
+ *
+ * @author agent <agent at local>
+ */
+public interface SubstationBulkRepository {
+
+    /**
+     * Inserts the given substations or updates them if they already exist with a different content.
+     */
+    BulkWriteResult upsertAll(Collection<SubstationEntity> substations);
+
+    /**
+     * Upserts the given substations as {@link #upsertAll} and deletes the other ones, in a single transaction.
+     */
+    BulkSyncResult syncAll(Collection<SubstationEntity> substations);
+}
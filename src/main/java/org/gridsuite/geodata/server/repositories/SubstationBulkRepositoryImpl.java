@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author agent <agent at local>
+ */
+public class SubstationBulkRepositoryImpl extends AbstractBulkRepository<SubstationEntity> implements SubstationBulkRepository {
+
+    private static final List<Column> COLUMNS = List.of(new Column("country", Types.VARCHAR),
+        new Column("latitude", Types.DOUBLE), new Column("longitude", Types.DOUBLE));
+
+    public SubstationBulkRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                        @Value("${network-geo-data.bulk-write.batch-size:1000}") int batchSize) {
+        super(jdbcTemplate, batchSize, "substation_entity", COLUMNS);
+    }
+
+    @Override
+    protected String getId(SubstationEntity substation) {
+        return substation.getId();
+    }
+
+    @Override
+    protected Object[] getValues(SubstationEntity substation) {
+        return new Object[] {substation.getCountry(), substation.getCoordinate().getLat(), substation.getCoordinate().getLon()};
+    }
+
+    @Override
+    @Transactional
+    public BulkWriteResult upsertAll(Collection<SubstationEntity> substations) {
+        return upsertChanged(substations);
+    }
+
+    @Override
+    @Transactional
+    public BulkSyncResult syncAll(Collection<SubstationEntity> substations) {
+        return syncBatches(List.of(substations).iterator());
+    }
+}
@@ -10,7 +10,6 @@ import com.powsybl.iidm.network.Country;
 import com.powsybl.iidm.network.extensions.Coordinate;
 import jakarta.persistence.*;
 import lombok.*;
-import org.apache.commons.math3.util.Precision;
 import org.gridsuite.geodata.server.dto.SubstationGeoData;
 
 /**
@@ -40,8 +39,8 @@ public class SubstationEntity {
                 .country(s.getCountry().toString())
                 .id(s.getId())
                 .coordinate(CoordinateEmbeddable.builder()
-                        .lat(Precision.round(s.getCoordinate().getLatitude(), geoDataRoundPrecision))
-                        .lon(Precision.round(s.getCoordinate().getLongitude(), geoDataRoundPrecision))
+                        .lat(DecimalRounding.round(s.getCoordinate().getLatitude(), geoDataRoundPrecision))
+                        .lon(DecimalRounding.round(s.getCoordinate().getLongitude(), geoDataRoundPrecision))
                         .build())
                 .build();
     }
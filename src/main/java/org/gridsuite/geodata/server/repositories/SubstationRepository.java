@@ -16,7 +16,7 @@ import java.util.List;
  * @author Chamseddine Benhamed <chamseddine.benhamed at rte-france.com>
  */
 @Repository
-public interface SubstationRepository extends JpaRepository<SubstationEntity, String> {
+public interface SubstationRepository extends JpaRepository<SubstationEntity, String>, SubstationBulkRepository {
 
     List<SubstationEntity> findByCountryIn(Collection<String> country);
 
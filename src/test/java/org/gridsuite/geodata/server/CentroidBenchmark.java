@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.extensions.Coordinate;
+import org.gridsuite.geodata.server.dto.SubstationGeoData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Centroid of the positioned neighbours of the substations, the innermost loop of the layout steps: the streams over
+ * the neighbours geo data done before, against the single pass over the primitive positions done by the service.
+ * <p>
+ * Run with {@code mvn test -Dtest=JmhBenchmarksTest -Djmh.includes=CentroidBenchmark}.
+ *
+ * @author agent <agent at local>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CentroidBenchmark {
+
+    private static final int SUBSTATIONS = 100000;
+
+    @Param({"2", "4", "8"})
+    private int neighboursCount;
+
+    private SubstationGeoData[] substationsGeoData;
+
+    private double[] latitudes;
+
+    private double[] longitudes;
+
+    // neighbours of each substation, flattened
+    private int[] neighbours;
+
+    private final CoordinateAccumulator accumulator = new CoordinateAccumulator();
+
+    @Setup
+    public void setUp() {
+        // fixed seed, the runs are reproducible
+        Random random = new Random(0);
+        substationsGeoData = new SubstationGeoData[SUBSTATIONS];
+        latitudes = new double[SUBSTATIONS];
+        longitudes = new double[SUBSTATIONS];
+        for (int i = 0; i < SUBSTATIONS; i++) {
+            latitudes[i] = 42 + random.nextDouble() * 9;
+            longitudes[i] = -5 + random.nextDouble() * 13;
+            substationsGeoData[i] = new SubstationGeoData("S" + i, Country.FR, new Coordinate(latitudes[i], longitudes[i]));
+        }
+        neighbours = random.ints((long) SUBSTATIONS * neighboursCount, 0, SUBSTATIONS).toArray();
+    }
+
+    @Benchmark
+    public double streams() {
+        double result = 0;
+        for (int i = 0; i < SUBSTATIONS; i++) {
+            List<SubstationGeoData> neighboursGeoData = new ArrayList<>(neighboursCount);
+            for (int k = i * neighboursCount; k < (i + 1) * neighboursCount; k++) {
+                neighboursGeoData.add(substationsGeoData[neighbours[k]]);
+            }
+            double lat = neighboursGeoData.stream().mapToDouble(n -> n.getCoordinate().getLatitude()).average().orElseThrow(IllegalStateException::new);
+            double lon = neighboursGeoData.stream().mapToDouble(n -> n.getCoordinate().getLongitude()).average().orElseThrow(IllegalStateException::new);
+            double latDifference = neighboursGeoData.stream().mapToDouble(n -> n.getCoordinate().getLatitude()).max().orElseThrow(IllegalStateException::new)
+                    - neighboursGeoData.stream().mapToDouble(n -> n.getCoordinate().getLatitude()).min().orElseThrow(IllegalStateException::new);
+            double lonDifference = neighboursGeoData.stream().mapToDouble(n -> n.getCoordinate().getLongitude()).max().orElseThrow(IllegalStateException::new)
+                    - neighboursGeoData.stream().mapToDouble(n -> n.getCoordinate().getLongitude()).min().orElseThrow(IllegalStateException::new);
+            result += lat + lon + (latDifference > lonDifference ? 1 : 0);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double accumulator() {
+        double result = 0;
+        for (int i = 0; i < SUBSTATIONS; i++) {
+            accumulator.reset();
+            for (int k = i * neighboursCount; k < (i + 1) * neighboursCount; k++) {
+                int neighbour = neighbours[k];
+                accumulator.add(latitudes[neighbour], longitudes[neighbour]);
+            }
+            result += accumulator.averageLatitude() + accumulator.averageLongitude()
+                    + (accumulator.latitudeRange() > accumulator.longitudeRange() ? 1 : 0);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author agent <agent at local>
+ */
+class CoordinateAccumulatorTest {
+
+    @Test
+    void testSameResultsAsStreams() {
+        Random random = new Random(42);
+        CoordinateAccumulator accumulator = new CoordinateAccumulator();
+        for (int n = 1; n < 50; n++) {
+            double[] latitudes = random.doubles(n, 40, 52).toArray();
+            double[] longitudes = random.doubles(n, -5, 10).toArray();
+            accumulator.reset();
+            for (int i = 0; i < n; i++) {
+                accumulator.add(latitudes[i], longitudes[i]);
+            }
+
+            assertEquals(n, accumulator.count());
+            // exact equality, the layout must not change
+            assertEquals(Arrays.stream(latitudes).average().orElseThrow(), accumulator.averageLatitude(), 0);
+            assertEquals(Arrays.stream(longitudes).average().orElseThrow(), accumulator.averageLongitude(), 0);
+            assertEquals(Arrays.stream(latitudes).max().orElseThrow() - Arrays.stream(latitudes).min().orElseThrow(), accumulator.latitudeRange(), 0);
+            assertEquals(Arrays.stream(longitudes).max().orElseThrow() - Arrays.stream(longitudes).min().orElseThrow(), accumulator.longitudeRange(), 0);
+        }
+    }
+}
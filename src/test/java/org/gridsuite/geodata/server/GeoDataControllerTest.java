@@ -28,6 +28,7 @@ import org.springframework.test.web.servlet.ResultActions;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.UUID;
 
 import static com.powsybl.network.store.model.NetworkStoreApi.VERSION;
@@ -36,6 +37,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -154,7 +156,7 @@ class GeoDataControllerTest {
                 .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        mockMvcResultActions = mvc.perform(post("/" + VERSION + "/lines/infos?networkUuid=" + networkUuid + "&variantId=" + VARIANT_ID)
+        mockMvcResultActions = mvc.perform(post("/" + VERSION + "/lines/infos?networkUuid=" + networkUuid + "&variantId=" + VARIANT_ID + "&tolerance=0.01")
                         .contentType(APPLICATION_JSON)
                         .content("[\"NHV1_NHV2_2\", \"NHV1_NHV2_1\"]"))
                 .andExpect(request().asyncStarted());
@@ -164,6 +166,154 @@ class GeoDataControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    void testGetNetworkGeoData() throws Exception {
+        UUID networkUuid = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
+        Network testNetwork = EurostagTutorialExample1Factory.create();
+        testNetwork.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, VARIANT_ID);
+        given(service.getNetwork(networkUuid, PreloadingStrategy.COLLECTION)).willReturn(testNetwork);
+
+        ResultActions mockMvcResultActions = mvc.perform(get("/" + VERSION + "/network/infos?networkUuid=" + networkUuid + "&variantId=" + VARIANT_ID))
+                .andExpect(request().asyncStarted());
+        mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andExpect(jsonPath("$.substations", hasSize(0)))
+                .andExpect(jsonPath("$.lines", hasSize(0)));
+
+        mvc.perform(get("/" + VERSION + "/network/infos?networkUuid=" + networkUuid + "&variantId=" + WRONG_VARIANT_ID))
+                .andExpect(content().string(StringContains.containsString("Variant '" + WRONG_VARIANT_ID + "' not found")))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void testGetEncodedLines() throws Exception {
+        UUID networkUuid = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
+        Network testNetwork = EurostagTutorialExample1Factory.create();
+        given(service.getNetwork(networkUuid, PreloadingStrategy.COLLECTION)).willReturn(testNetwork);
+        given(service.getNetwork(networkUuid, PreloadingStrategy.NONE)).willReturn(testNetwork);
+
+        ResultActions mockMvcResultActions = mvc.perform(post("/" + VERSION + "/lines/infos?networkUuid=" + networkUuid + "&format=polyline")
+                .contentType(APPLICATION_JSON))
+                .andExpect(request().asyncStarted());
+        mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvcResultActions = mvc.perform(post("/" + VERSION + "/lines/infos?networkUuid=" + networkUuid + "&format=polyline&zoom=6")
+                        .contentType(APPLICATION_JSON)
+                        .content("[\"NHV1_NHV2_2\", \"NHV1_NHV2_1\"]"))
+                .andExpect(request().asyncStarted());
+        mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void testGetViewport() throws Exception {
+        UUID networkUuid = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
+        Network testNetwork = EurostagTutorialExample1Factory.create();
+        given(service.getNetwork(networkUuid, PreloadingStrategy.COLLECTION)).willReturn(testNetwork);
+        String boundingBox = "&minLatitude=0&minLongitude=0&maxLatitude=1&maxLongitude=1";
+
+        ResultActions mockMvcResultActions = mvc.perform(get("/" + VERSION + "/substations/viewport?networkUuid=" + networkUuid + boundingBox))
+                .andExpect(request().asyncStarted());
+        mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvcResultActions = mvc.perform(get("/" + VERSION + "/lines/viewport?networkUuid=" + networkUuid + boundingBox + "&zoom=6"))
+                .andExpect(request().asyncStarted());
+        mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        // inverted bounding box
+        String invertedBoundingBox = "&minLatitude=1&minLongitude=0&maxLatitude=0&maxLongitude=1";
+        for (String viewport : List.of("/substations/viewport", "/lines/viewport", "/substations/clusters")) {
+            mockMvcResultActions = mvc.perform(get("/" + VERSION + viewport + "?networkUuid=" + networkUuid + invertedBoundingBox + "&zoom=6"))
+                    .andExpect(request().asyncStarted());
+            mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                    .andExpect(status().isBadRequest());
+        }
+
+        mockMvcResultActions = mvc.perform(get("/" + VERSION + "/substations/viewport?networkUuid=" + networkUuid
+                        + "&minLatitude=NaN&minLongitude=0&maxLatitude=1&maxLongitude=1"))
+                .andExpect(request().asyncStarted());
+        mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                .andExpect(status().isBadRequest());
+
+        // huge, infinite and out of range bounding boxes
+        for (String outOfRangeBoundingBox : List.of("&minLatitude=-1e9&minLongitude=-1e9&maxLatitude=1e9&maxLongitude=1e9",
+                "&minLatitude=-1e300&minLongitude=0&maxLatitude=1e300&maxLongitude=1",
+                "&minLatitude=-Infinity&minLongitude=-Infinity&maxLatitude=Infinity&maxLongitude=Infinity",
+                "&minLatitude=0&minLongitude=0&maxLatitude=90.5&maxLongitude=1",
+                "&minLatitude=0&minLongitude=-180.5&maxLatitude=1&maxLongitude=1")) {
+            for (String viewport : List.of("/substations/viewport", "/lines/viewport", "/substations/clusters")) {
+                mockMvcResultActions = mvc.perform(get("/" + VERSION + viewport + "?networkUuid=" + networkUuid + outOfRangeBoundingBox + "&zoom=6"))
+                        .andExpect(request().asyncStarted());
+                mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                        .andExpect(status().isBadRequest());
+            }
+        }
+
+        // whole world
+        mockMvcResultActions = mvc.perform(get("/" + VERSION + "/substations/viewport?networkUuid=" + networkUuid
+                        + "&minLatitude=-90&minLongitude=-180&maxLatitude=90&maxLongitude=180"))
+                .andExpect(request().asyncStarted());
+        mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testGetTile() throws Exception {
+        UUID networkUuid = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
+        Network testNetwork = EurostagTutorialExample1Factory.create();
+        given(service.getNetwork(networkUuid, PreloadingStrategy.COLLECTION)).willReturn(testNetwork);
+
+        ResultActions mockMvcResultActions = mvc.perform(get("/" + VERSION + "/tiles/10/512/512?networkUuid=" + networkUuid))
+                .andExpect(request().asyncStarted());
+        mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(GeoDataController.VECTOR_TILE_MEDIA_TYPE))
+                .andExpect(content().bytes(new byte[0]));
+
+        mockMvcResultActions = mvc.perform(get("/" + VERSION + "/tiles/1/2/0?networkUuid=" + networkUuid))
+                .andExpect(request().asyncStarted());
+        mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetSubstationClusters() throws Exception {
+        UUID networkUuid = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
+        Network testNetwork = EurostagTutorialExample1Factory.create();
+        given(service.getNetwork(networkUuid, PreloadingStrategy.COLLECTION)).willReturn(testNetwork);
+
+        ResultActions mockMvcResultActions = mvc.perform(get("/" + VERSION + "/substations/clusters?networkUuid=" + networkUuid
+                        + "&zoom=5&minLatitude=0&minLongitude=0&maxLatitude=1&maxLongitude=1"))
+                .andExpect(request().asyncStarted());
+        mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvcResultActions = mvc.perform(get("/" + VERSION + "/substations/clusters/expansion?networkUuid=" + networkUuid + "&token=2/5"))
+                .andExpect(request().asyncStarted());
+        mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvcResultActions = mvc.perform(get("/" + VERSION + "/substations/clusters/expansion?networkUuid=" + networkUuid + "&token=invalid"))
+                .andExpect(request().asyncStarted());
+        mvc.perform(asyncDispatch(mockMvcResultActions.andReturn()))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetLinesError() throws Exception {
         UUID networkUuid = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
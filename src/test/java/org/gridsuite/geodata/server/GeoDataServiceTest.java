@@ -10,9 +10,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.extensions.Coordinate;
+import com.powsybl.iidm.network.extensions.SubstationPositionAdder;
 import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
 import com.powsybl.iidm.network.test.NoEquipmentNetworkFactory;
+import org.gridsuite.geodata.server.dto.EncodedLineGeoData;
+import org.gridsuite.geodata.server.dto.ImportReport;
 import org.gridsuite.geodata.server.dto.LineGeoData;
+import org.gridsuite.geodata.server.dto.NetworkGeoData;
+import org.gridsuite.geodata.server.dto.SubstationCluster;
 import org.gridsuite.geodata.server.dto.SubstationGeoData;
 import org.gridsuite.geodata.server.repositories.*;
 import org.junit.jupiter.api.AfterEach;
@@ -20,9 +25,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -47,6 +57,15 @@ class GeoDataServiceTest {
     @Autowired
     private DefaultSubstationGeoDataByCountry defaultSubstationsGeoData;
 
+    @Autowired
+    private SubstationGeoDataStore substationGeoDataStore;
+
+    @Autowired
+    private LineCoordinatesMigration lineCoordinatesMigration;
+
+    @Autowired
+    private SubstationLayoutCache substationLayoutCache;
+
     @BeforeEach
     void setUp() throws Exception {
         List<SubstationEntity> substationEntities = new ArrayList<>();
@@ -76,6 +95,7 @@ class GeoDataServiceTest {
                 .build());
 
         substationRepository.saveAll(substationEntities);
+        substationGeoDataStore.refresh();
 
         List<LineEntity> lineEntities = new ArrayList<>();
 
@@ -122,6 +142,7 @@ class GeoDataServiceTest {
     void cleanDb() {
         lineRepository.deleteAll();
         substationRepository.deleteAll();
+        substationGeoDataStore.refresh();
     }
 
     private static LineGeoData getFromList(List<LineGeoData> list, String id) {
@@ -141,7 +162,8 @@ class GeoDataServiceTest {
 
         List<LineGeoData> linesGeoData = geoDataService.getLinesByCountries(network, new HashSet<>(List.of(Country.FR)));
 
-        assertEquals(15, linesGeoData.size());
+        assertEquals(11, linesGeoData.size()); // only the lines with at least one end in FR
+        assertTrue(linesGeoData.stream().noneMatch(l -> l.getId().equals("NHV6_NHV7")));
         assertEquals(2, getFromList(linesGeoData, "NHV1_NHV2_1").getCoordinates().size()); // line with no coordinate, so [substation1, substation2]
         List<Coordinate> lineNHV2 = getFromList(linesGeoData, "NHV2_NHV3").getCoordinates();
         List<Coordinate> lineNHV3 = new ArrayList<>(getFromList(linesGeoData, "NHV2_NHV3_inverted").getCoordinates());
@@ -187,6 +209,34 @@ class GeoDataServiceTest {
         assertEquals(12, substationsGeoData5.stream().filter(s -> s.getId().equals("P6")).toList().get(0).getCoordinate().getLongitude(), 0.007);
     }
 
+    @Test
+    void testLinesByCountries() {
+        Network network = createGeoDataNetwork();
+        List<LineGeoData> allLinesGeoData = geoDataService.getLinesByCountries(network, Set.of());
+        assertEquals(15, allLinesGeoData.size());
+
+        // only the lines with at least one end in the requested countries, the lines of the other countries are not laid out anymore
+        for (Set<Country> countries : List.of(Set.of(Country.FR), Set.of(Country.BE), Set.of(Country.DE), Set.of(Country.FR, Country.DE))) {
+            Set<String> expectedIds = allLinesGeoData.stream()
+                    .filter(l -> countries.contains(l.getCountry1()) || countries.contains(l.getCountry2()))
+                    .map(LineGeoData::getId)
+                    .collect(Collectors.toSet());
+            Set<String> ids = geoDataService.getLinesByCountries(network, countries).stream().map(LineGeoData::getId).collect(Collectors.toSet());
+            assertEquals(expectedIds, ids, countries::toString);
+        }
+
+        Set<String> frIds = geoDataService.getLinesByCountries(network, Set.of(Country.FR)).stream().map(LineGeoData::getId).collect(Collectors.toSet());
+        Set<String> beIds = geoDataService.getLinesByCountries(network, Set.of(Country.BE)).stream().map(LineGeoData::getId).collect(Collectors.toSet());
+        Set<String> deIds = geoDataService.getLinesByCountries(network, Set.of(Country.DE)).stream().map(LineGeoData::getId).collect(Collectors.toSet());
+        // cross border line, in both countries
+        assertTrue(frIds.contains("NHV1_NHV5"));
+        assertTrue(beIds.contains("NHV1_NHV5"));
+        // lines and HVDC line inside DE
+        assertFalse(frIds.contains("NHV6_NHV7"));
+        assertFalse(frIds.contains("L"));
+        assertTrue(deIds.containsAll(Set.of("NHV6_NHV7", "NHV5_NHV6", "L")));
+    }
+
     @Test
     void testCgmesCase() {
         Network network = createCgmesGeoDataNetwork();
@@ -512,6 +562,487 @@ class GeoDataServiceTest {
         assertEquals(defaultSubstationGeoParameter.getCurrentCoordinate(), pg6.getCoordinate());
     }
 
+    @Test
+    void testDeclutter() {
+        // A - B - D - E, A - C - F and G, added in this order, around the default position of BE
+        Network network = Network.create("test", "test");
+        VoltageLevel vla = addSubstation(network, "A", Country.BE);
+        VoltageLevel vlb = addSubstation(network, "B", Country.BE);
+        VoltageLevel vlc = addSubstation(network, "C", Country.BE);
+        VoltageLevel vld = addSubstation(network, "D", Country.BE);
+        VoltageLevel vlf = addSubstation(network, "F", Country.BE);
+        VoltageLevel vle = addSubstation(network, "E", Country.BE);
+        addSubstation(network, "G", Country.BE);
+        addLine(network, vla, vlb);
+        addLine(network, vla, vlc);
+        addLine(network, vlb, vld);
+        addLine(network, vld, vle);
+        addLine(network, vlc, vlf);
+
+        // the neighbours of a substation are spread after it, then the neighbours of each of them, depth first
+        List<String> expectedOrder = List.of("A", "B", "C", "D", "E", "F", "G");
+        Map<String, Coordinate> coordinates = new HashMap<>();
+        geoDataService.getSubstationsByCountries(network, Set.of(Country.BE)).forEach(s -> coordinates.put(s.getId(), s.getCoordinate()));
+        DefaultSubstationGeoParameter geoParameter = new DefaultSubstationGeoParameter(0.0, 0.0, defaultSubstationsGeoData.get("BE").getCoordinate());
+        for (String id : expectedOrder) {
+            assertEquals(geoParameter.getCurrentCoordinate(), coordinates.get(id), id);
+            geoParameter.incrementDefaultSubstationGeoParameters();
+        }
+
+        // the substations after the maximum cluster size are left undecluttered, G stays at the default position of BE
+        ReflectionTestUtils.setField(geoDataService, "declutterMaxClusterSize", 6);
+        try {
+            coordinates.clear();
+            geoDataService.getSubstationsByCountries(network, Set.of(Country.BE)).forEach(s -> coordinates.put(s.getId(), s.getCoordinate()));
+            geoParameter = new DefaultSubstationGeoParameter(0.0, 0.0, defaultSubstationsGeoData.get("BE").getCoordinate());
+            for (String id : expectedOrder.subList(0, 6)) {
+                assertEquals(geoParameter.getCurrentCoordinate(), coordinates.get(id), id);
+                geoParameter.incrementDefaultSubstationGeoParameters();
+            }
+            assertEquals(defaultSubstationsGeoData.get("BE").getCoordinate(), coordinates.get("G"));
+            assertEquals(coordinates.get("A"), coordinates.get("G"));
+        } finally {
+            ReflectionTestUtils.setField(geoDataService, "declutterMaxClusterSize", 10000);
+        }
+    }
+
+    @Test
+    void testSubstationStore() {
+        assertEquals(4, substationGeoDataStore.size());
+
+        geoDataService.saveSubstations(List.of(
+            new SubstationGeoData("P1", Country.FR, new Coordinate(1.123456, 2.987654)),
+            new SubstationGeoData("P20", Country.BE, new Coordinate(5, 6))));
+
+        assertEquals(5, substationGeoDataStore.size());
+        Map<String, SubstationGeoData> stored = substationGeoDataStore.getByIds(List.of("P1", "P20", "UNKNOWN"));
+        assertEquals(2, stored.size());
+        assertEquals(1.12346, stored.get("P1").getCoordinate().getLatitude(), 0);
+        assertEquals(2.98765, stored.get("P1").getCoordinate().getLongitude(), 0);
+        assertEquals(Country.BE, stored.get("P20").getCountry());
+
+        // the store returns copies, callers modifications are not visible to the next readers
+        stored.get("P1").setCoordinate(new Coordinate(0, 0));
+        assertEquals(1.12346, substationGeoDataStore.getByIds(List.of("P1")).get("P1").getCoordinate().getLatitude(), 0);
+
+        // only the positions stored for the requested countries are found
+        Network network = createGeoDataNetwork();
+        assertEquals(Set.of("P1", "P2", "P3"), substationGeoDataStore.getBySubstations(network.getSubstationStream().toList(), Set.of(Country.FR)).keySet());
+        assertTrue(substationGeoDataStore.getBySubstations(network.getSubstationStream().toList(), Set.of(Country.BE)).isEmpty());
+
+        // a substation moved to another country is no longer stored for its previous country
+        geoDataService.saveSubstations(List.of(new SubstationGeoData("P2", Country.BE, new Coordinate(3, 1))));
+        assertEquals(5, substationGeoDataStore.size());
+        assertEquals(Set.of("P1", "P3"), substationGeoDataStore.getBySubstations(network.getSubstationStream().toList(), Set.of(Country.FR)).keySet());
+    }
+
+    @Test
+    void testSubstationStoreRefresh() {
+        substationLayoutCache.invalidateAll();
+        SubstationLayoutCache.Key key = new SubstationLayoutCache.Key(UUID.randomUUID(), "variant", Set.of(Country.FR));
+        substationLayoutCache.get(key, List::of);
+
+        // nothing has changed, the cached layouts are kept
+        substationGeoDataStore.scheduledRefresh();
+        assertEquals(1, substationLayoutCache.size());
+
+        // saved by another instance of the server
+        substationRepository.save(SubstationEntity.builder()
+            .id("P20")
+            .country("BE")
+            .coordinate(new CoordinateEmbeddable(5, 6))
+            .build());
+        assertEquals(4, substationGeoDataStore.size());
+        substationGeoDataStore.scheduledRefresh();
+        assertEquals(5, substationGeoDataStore.size());
+        assertEquals(0, substationLayoutCache.size());
+    }
+
+    private static VoltageLevel addSubstation(Network network, String id, Country country) {
+        VoltageLevel vl = network.newSubstation()
+                .setId(id)
+                .setCountry(country)
+                .add()
+                .newVoltageLevel()
+                .setId("VL_" + id)
+                .setNominalV(380)
+                .setTopologyKind(TopologyKind.BUS_BREAKER)
+                .add();
+        vl.getBusBreakerView().newBus()
+                .setId("B_" + id)
+                .add();
+        return vl;
+    }
+
+    private static void addLine(Network network, VoltageLevel vl1, VoltageLevel vl2) {
+        addLine(network, vl1, vl2, vl1.getId() + "_" + vl2.getId());
+    }
+
+    private static void addLine(Network network, VoltageLevel vl1, VoltageLevel vl2, String id) {
+        String bus1 = vl1.getBusBreakerView().getBuses().iterator().next().getId();
+        String bus2 = vl2.getBusBreakerView().getBuses().iterator().next().getId();
+        network.newLine()
+                .setId(id)
+                .setVoltageLevel1(vl1.getId())
+                .setBus1(bus1)
+                .setConnectableBus1(bus1)
+                .setVoltageLevel2(vl2.getId())
+                .setBus2(bus2)
+                .setConnectableBus2(bus2)
+                .setR(3.0)
+                .setX(33.0)
+                .setG1(0.0)
+                .setB1(386E-6 / 2)
+                .setG2(0.0)
+                .setB2(386E-6 / 2)
+                .add();
+    }
+
+    @Test
+    void testStepsPositions() {
+        Network network = EurostagTutorialExample1Factory.create();
+        VoltageLevel vlhv1 = network.getVoltageLevel("VLHV1");
+        VoltageLevel vlp3 = addSubstation(network, "P3", Country.FR);
+        // step ONE: A, B and C between P1 (1, 1) and P3 (2, 7), sharing their neighbourhood
+        for (String id : List.of("A", "B", "C")) {
+            VoltageLevel vl = addSubstation(network, id, Country.FR);
+            addLine(network, vl, vlhv1);
+            addLine(network, vl, vlp3);
+        }
+        // step TWO: D next to P1, E next to D, F alone in DE and G in DE next to P1
+        VoltageLevel vld = addSubstation(network, "D", Country.FR);
+        addLine(network, vld, vlhv1);
+        addLine(network, addSubstation(network, "E", Country.FR), vld);
+        addSubstation(network, "F", Country.DE);
+        addLine(network, addSubstation(network, "G", Country.DE), vlhv1);
+
+        Map<String, Coordinate> coordinates = new HashMap<>();
+        geoDataService.getSubstationsByCountries(network, Set.of(Country.FR, Country.DE)).forEach(s -> coordinates.put(s.getId(), s.getCoordinate()));
+
+        // the centroid of P1 and P3, then shifted in latitude, the neighbours being further apart in longitude
+        Set<List<Double>> stepOneCoordinates = List.of("A", "B", "C").stream()
+            .map(id -> List.of(round(coordinates.get(id).getLatitude()), round(coordinates.get(id).getLongitude())))
+            .collect(Collectors.toSet());
+        assertEquals(Set.of(List.of(1.5, 4.0), List.of(1.505, 4.0), List.of(1.495, 4.0)), stepOneCoordinates);
+
+        assertEquals(0.998, coordinates.get("D").getLatitude(), 1e-9);
+        assertEquals(0.993, coordinates.get("D").getLongitude(), 1e-9);
+        assertEquals(0.996, coordinates.get("E").getLatitude(), 1e-9);
+        assertEquals(0.986, coordinates.get("E").getLongitude(), 1e-9);
+        // the default position of DE, without neighbour or without neighbour in DE
+        assertEquals(new Coordinate(8, 12), coordinates.get("F"));
+        assertEquals(new Coordinate(8, 12), coordinates.get("G"));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1e9) / 1e9;
+    }
+
+    @Test
+    void testStepOneLongChain() {
+        // X0 next to P1 and P3, each Xk next to the 2 previous ones, added from the end of the chain, which took an
+        // iteration per substation to the previous iteration bounded layout
+        Network network = EurostagTutorialExample1Factory.create();
+        VoltageLevel vlp3 = addSubstation(network, "P3", Country.FR);
+        int length = 60;
+        VoltageLevel[] chain = new VoltageLevel[length];
+        for (int k = length - 1; k >= 0; k--) {
+            chain[k] = addSubstation(network, "X" + k, Country.FR);
+        }
+        for (int k = 0; k < length; k++) {
+            addLine(network, chain[k], k > 0 ? chain[k - 1] : vlp3);
+            addLine(network, chain[k], k > 1 ? chain[k - 2] : (k == 1 ? vlp3 : network.getVoltageLevel("VLHV1")));
+        }
+
+        Map<String, Coordinate> coordinates = new HashMap<>();
+        geoDataService.getSubstationsByCountries(network, Set.of(Country.FR)).forEach(s -> coordinates.put(s.getId(), s.getCoordinate()));
+
+        assertEquals(new Coordinate(1.5, 4), coordinates.get("X0"));
+        assertEquals(new Coordinate(1.75, 5.5), coordinates.get("X1"));
+        // all calculated at step ONE, from the 2 previous substations: the positions converge to (5/3, 5)
+        assertEquals(5. / 3, coordinates.get("X" + (length - 1)).getLatitude(), 1e-9);
+        assertEquals(5, coordinates.get("X" + (length - 1)).getLongitude(), 1e-9);
+    }
+
+    @Test
+    void testStepTwoLongChain() {
+        // Y0 next to P1, each Yk next to the previous one, added from the end of the chain, FR having no default position
+        Network network = EurostagTutorialExample1Factory.create();
+        int length = 60;
+        VoltageLevel[] chain = new VoltageLevel[length];
+        for (int k = length - 1; k >= 0; k--) {
+            chain[k] = addSubstation(network, "Y" + k, Country.FR);
+        }
+        for (int k = 0; k < length; k++) {
+            addLine(network, chain[k], k > 0 ? chain[k - 1] : network.getVoltageLevel("VLHV1"));
+        }
+
+        Map<String, Coordinate> coordinates = new HashMap<>();
+        geoDataService.getSubstationsByCountries(network, Set.of(Country.FR)).forEach(s -> coordinates.put(s.getId(), s.getCoordinate()));
+
+        // each one shifted from the previous one, up to the end of the chain
+        for (int k = 0; k < length; k++) {
+            assertEquals(1 - 0.002 * (k + 1), coordinates.get("Y" + k).getLatitude(), 1e-9);
+            assertEquals(1 - 0.007 * (k + 1), coordinates.get("Y" + k).getLongitude(), 1e-9);
+        }
+    }
+
+    @Test
+    void testSortByKnownNeighbours() {
+        // U0 to U99 to calculate, linked to K0 to K9 which have a position in the network, and to each other
+        Network network = Network.create("test", "test");
+        Random random = new Random(0);
+        List<VoltageLevel> known = new ArrayList<>();
+        for (int k = 0; k < 10; k++) {
+            VoltageLevel vl = addSubstation(network, "K" + k, Country.FR);
+            vl.getSubstation().orElseThrow().newExtension(SubstationPositionAdder.class).withCoordinate(new Coordinate(k, k)).add();
+            known.add(vl);
+        }
+        List<VoltageLevel> unknown = new ArrayList<>();
+        Map<String, Set<String>> knownNeighbours = new HashMap<>();
+        for (int u = 0; u < 100; u++) {
+            VoltageLevel vl = addSubstation(network, "U" + u, Country.FR);
+            knownNeighbours.put("U" + u, new HashSet<>());
+            unknown.add(vl);
+        }
+        for (VoltageLevel vl : unknown) {
+            // several lines to the same substation give a single neighbour
+            for (int l = random.nextInt(5); l > 0; l--) {
+                VoltageLevel other = known.get(random.nextInt(known.size()));
+                addLine(network, vl, other, vl.getId() + "_" + other.getId() + "_" + l);
+                knownNeighbours.get(vl.getSubstation().orElseThrow().getId()).add(other.getSubstation().orElseThrow().getId());
+            }
+            VoltageLevel other = unknown.get(random.nextInt(unknown.size()));
+            if (other != vl) {
+                addLine(network, vl, other, vl.getId() + "_" + other.getId());
+            }
+        }
+
+        List<Substation> substations = network.getSubstationStream().toList();
+        SubstationGraph graph = SubstationGraph.of(substations);
+        boolean[] toCalculate = new boolean[graph.size()];
+        List<String> toCalculateIds = new ArrayList<>();
+        for (int i = 0; i < graph.size(); i++) {
+            toCalculate[i] = knownNeighbours.containsKey(graph.getId(i));
+            if (toCalculate[i]) {
+                toCalculateIds.add(graph.getId(i));
+            }
+        }
+
+        // same order as the previous stable sort on the decreasing number of neighbours with a known position
+        List<String> expected = new ArrayList<>(toCalculateIds);
+        expected.sort(Comparator.comparingInt(id -> -knownNeighbours.get(id).size()));
+        List<String> sorted = Arrays.stream(GeoDataService.sortByKnownNeighbours(graph, toCalculate)).mapToObj(graph::getId).toList();
+        assertEquals(expected, sorted);
+        assertEquals(100, sorted.size());
+        assertTrue(knownNeighbours.values().stream().map(Set::size).distinct().count() > 3);
+    }
+
+    @Test
+    void testParallelLayout() {
+        // chains of unknown substations hanging from the known P1 and P3, and isolated unknown substations
+        Network network = createGeoDataNetwork();
+        VoltageLevel vlhv1 = network.getVoltageLevel("VLHV1");
+        VoltageLevel vlhv3 = network.getVoltageLevel("VLHV3");
+        for (int chain = 0; chain < 8; chain++) {
+            VoltageLevel previous = null;
+            for (int k = 0; k < 4; k++) {
+                VoltageLevel vl = addSubstation(network, "C" + chain + "_" + k, Country.FR);
+                if (previous == null) {
+                    addLine(network, vl, vlhv1);
+                    addLine(network, vl, vlhv3);
+                } else {
+                    addLine(network, vl, previous);
+                }
+                previous = vl;
+            }
+        }
+        for (int i = 0; i < 10; i++) {
+            addSubstation(network, "I" + i, Country.FR);
+        }
+
+        Map<String, Coordinate> sequentialLayout = new HashMap<>();
+        geoDataService.getSubstationsByCountries(network, Set.of(Country.FR)).forEach(s -> sequentialLayout.put(s.getId(), s.getCoordinate()));
+
+        ReflectionTestUtils.setField(geoDataService, "parallelLayout", true);
+        try {
+            Map<String, Coordinate> parallelLayout = new HashMap<>();
+            geoDataService.getSubstationsByCountries(network, Set.of(Country.FR)).forEach(s -> parallelLayout.put(s.getId(), s.getCoordinate()));
+            assertEquals(sequentialLayout, parallelLayout);
+            assertTrue(parallelLayout.containsKey("C7_3"));
+            assertTrue(parallelLayout.containsKey("I9"));
+        } finally {
+            ReflectionTestUtils.setField(geoDataService, "parallelLayout", false);
+        }
+    }
+
+    @Test
+    void testSubstationsByIdsMaxHops() {
+        // X - Y - P1, P1 being the only substation with a known position
+        Network network = EurostagTutorialExample1Factory.create();
+        VoltageLevel vlx = addSubstation(network, "X", Country.FR);
+        VoltageLevel vly = addSubstation(network, "Y", Country.FR);
+        addLine(network, vlx, vly);
+        addLine(network, vly, network.getVoltageLevel("VLHV1"));
+
+        List<SubstationGeoData> substationsGeoData = geoDataService.getSubstationsByIds(network, Set.of("X"));
+        assertEquals(1, substationsGeoData.size());
+        assertEquals(0.996, substationsGeoData.get(0).getCoordinate().getLatitude(), 0.0001);
+        assertEquals(0.986, substationsGeoData.get(0).getCoordinate().getLongitude(), 0.0001);
+
+        // P1 is 2 hops away from X
+        ReflectionTestUtils.setField(geoDataService, "substationsByIdsMaxHops", 0);
+        try {
+            assertTrue(geoDataService.getSubstationsByIds(network, Set.of("X")).isEmpty());
+        } finally {
+            ReflectionTestUtils.setField(geoDataService, "substationsByIdsMaxHops", 10);
+        }
+    }
+
+    @Test
+    void testSubstationsByIdsMinAnchors() {
+        // X - Y - P1, X being requested with P2 whose position is known
+        Network network = EurostagTutorialExample1Factory.create();
+        VoltageLevel vlx = addSubstation(network, "X", Country.FR);
+        VoltageLevel vly = addSubstation(network, "Y", Country.FR);
+        addLine(network, vlx, vly);
+        addLine(network, vly, network.getVoltageLevel("VLHV1"));
+
+        // the requested P2 is not an anchor, the exploration goes on until P1, 2 hops away from X
+        ReflectionTestUtils.setField(geoDataService, "substationsByIdsMinAnchors", 1);
+        try {
+            Map<String, Coordinate> coordinates = new HashMap<>();
+            geoDataService.getSubstationsByIds(network, Set.of("P2", "X")).forEach(s -> coordinates.put(s.getId(), s.getCoordinate()));
+            assertEquals(2, coordinates.size());
+            assertEquals(new Coordinate(3, 1), coordinates.get("P2"));
+            assertEquals(0.996, coordinates.get("X").getLatitude(), 0.0001);
+            assertEquals(0.986, coordinates.get("X").getLongitude(), 0.0001);
+        } finally {
+            ReflectionTestUtils.setField(geoDataService, "substationsByIdsMinAnchors", 20);
+        }
+    }
+
+    @Test
+    void testNetworkGeoData() {
+        Network network = createGeoDataNetwork();
+        NetworkGeoData networkGeoData = geoDataService.getNetworkGeoDataByCountries(null, network, Set.of(Country.FR));
+
+        assertEquals(11, networkGeoData.getLines().size());
+        assertFalse(networkGeoData.getSubstations().isEmpty());
+        assertTrue(networkGeoData.getSubstations().stream().allMatch(s -> s.getCountry() == Country.FR));
+
+        // the lines ends are the substations positions
+        SubstationGeoData p1 = networkGeoData.getSubstations().stream().filter(s -> s.getId().equals("P1")).findFirst().orElseThrow();
+        assertEquals(p1.getCoordinate(), getFromList(networkGeoData.getLines(), "NHV1_NHV2_1").getCoordinates().get(0));
+    }
+
+    @Test
+    void testEncodedLines() {
+        Network network = createGeoDataNetwork();
+        List<LineGeoData> linesGeoData = geoDataService.getLinesByCountries(network, Set.of(Country.FR));
+        List<EncodedLineGeoData> encodedLinesGeoData = geoDataService.encodeLines(linesGeoData);
+
+        assertEquals(linesGeoData.size(), encodedLinesGeoData.size());
+        EncodedLineGeoData encodedLine = encodedLinesGeoData.stream().filter(l -> l.getId().equals("NHV2_NHV3")).findFirst().orElseThrow();
+        assertEquals(5, encodedLine.getPrecision());
+        assertEquals("P2", encodedLine.getSubstationStart());
+        assertEquals("P3", encodedLine.getSubstationEnd());
+        // [P2 (3, 1), (3, 1), (5, 6), (2, 7), P3 (2, 7)]
+        assertEquals(PolylineEncoder.encode(List.of(new Coordinate(3, 1), new Coordinate(3, 1), new Coordinate(5, 6), new Coordinate(2, 7), new Coordinate(2, 7)), 5),
+            encodedLine.getCoordinates());
+    }
+
+    @Test
+    void testSimplifiedLines() {
+        List<Coordinate> coordinates = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            // small oscillations around the straight line from P2 to P3
+            coordinates.add(new Coordinate(3 - i / 100. + (i % 2) * 0.0001, 1 + 6 * i / 100.));
+        }
+        geoDataService.saveLines(List.of(new LineGeoData("NHV2_NHV3", Country.FR, Country.FR, "P2", "P3", coordinates)));
+        LineEntity lineEntity = lineRepository.findById("NHV2_NHV3").orElseThrow();
+        assertNotNull(lineEntity.getSimplifiedCoordinates());
+        assertEquals(101, geoDataService.toDto(lineEntity).getCoordinates().size());
+        assertEquals(101, geoDataService.toDto(lineEntity, 0.0001).getCoordinates().size());
+        assertEquals(2, geoDataService.toDto(lineEntity, 0.0005).getCoordinates().size());
+
+        Network network = createGeoDataNetwork();
+        // [substation1, c1, ..., c101, substation2]
+        assertEquals(103, getFromList(geoDataService.getLinesByCountries(network, Set.of(Country.FR)), "NHV2_NHV3").getCoordinates().size());
+        assertEquals(4, getFromList(geoDataService.getLinesByCountries(network, Set.of(Country.FR), GeoDataService.getTolerance(5, null)), "NHV2_NHV3").getCoordinates().size());
+        assertEquals(103, getFromList(geoDataService.getLinesByIds(network, Set.of("NHV2_NHV3"), GeoDataService.getTolerance(18, null)), "NHV2_NHV3").getCoordinates().size());
+        assertEquals(4, getFromList(geoDataService.getLinesByIds(network, Set.of("NHV2_NHV3"), GeoDataService.getTolerance(18, 0.01)), "NHV2_NHV3").getCoordinates().size());
+    }
+
+    @Test
+    void testViewport() {
+        Network network = createGeoDataNetwork();
+        UUID networkUuid = UUID.randomUUID();
+
+        List<String> substations = geoDataService.getSubstationsByBoundingBox(networkUuid, network, new BoundingBox(0.5, 0.5, 1.5, 1.5))
+            .stream().map(SubstationGeoData::getId).toList();
+        assertTrue(substations.contains("P1"));
+        assertFalse(substations.contains("P2"));
+        assertFalse(substations.contains("P3"));
+        assertTrue(geoDataService.getSubstationsByBoundingBox(networkUuid, network, new BoundingBox(50, 50, 51, 51)).isEmpty());
+
+        // the lines between their end substations
+        List<LineGeoData> lines = geoDataService.getLinesByBoundingBox(networkUuid, network, new BoundingBox(2.5, 0.5, 3.5, 1.5), 0);
+        assertEquals(List.of(new Coordinate(3, 1), new Coordinate(3, 1), new Coordinate(5, 6), new Coordinate(2, 7), new Coordinate(2, 7)),
+            getFromList(lines, "NHV2_NHV3").getCoordinates());
+        assertEquals(List.of(new Coordinate(1, 1), new Coordinate(3, 1)), getFromList(lines, "NHV1_NHV2_1").getCoordinates());
+        BoundingBox farFromEnds = new BoundingBox(5.5, 3.5, 6.5, 4.5);
+        assertTrue(geoDataService.getLinesByBoundingBox(networkUuid, network, farFromEnds, 0).isEmpty());
+
+        // the saved lines are indexed with the bounding box of their coordinates
+        geoDataService.saveLines(List.of(new LineGeoData("NHV2_NHV3", Country.FR, Country.FR, "P2", "P3",
+            List.of(new Coordinate(3, 1), new Coordinate(6, 4), new Coordinate(2, 7)))));
+        assertEquals(List.of("NHV2_NHV3"), geoDataService.getLinesByBoundingBox(networkUuid, network, farFromEnds, 0).stream().map(LineGeoData::getId).toList());
+        assertEquals(List.of("NHV2_NHV3"), geoDataService.getLinesByBoundingBox(null, network, farFromEnds, 0).stream().map(LineGeoData::getId).toList());
+    }
+
+    @Test
+    void testSubstationClusters() {
+        Network network = createGeoDataNetwork();
+        UUID networkUuid = UUID.randomUUID();
+        BoundingBox world = new BoundingBox(-90, -180, 90, 180);
+        int substationsCount = geoDataService.getSubstationsByCountries(network, Set.of()).size();
+
+        List<SubstationCluster> clusters = geoDataService.getSubstationClusters(networkUuid, network, 0, world);
+        assertEquals(substationsCount, clusters.stream().mapToInt(SubstationCluster::getCount).sum());
+        SubstationCluster cluster = clusters.stream().filter(c -> c.getToken() != null).findFirst().orElseThrow();
+        assertEquals(cluster.getCount(), geoDataService.expandSubstationCluster(networkUuid, network, cluster.getToken()).stream()
+            .mapToInt(SubstationCluster::getCount).sum());
+
+        // P1 is alone at the maximum zoom level
+        assertEquals(List.of(List.of("P1")), geoDataService.getSubstationClusters(networkUuid, network, 16, new BoundingBox(0.9999, 0.9999, 1.0001, 1.0001))
+            .stream().map(SubstationCluster::getSubstationIds).toList());
+    }
+
+    @Test
+    void testTile() {
+        Network network = createGeoDataNetwork();
+        UUID networkUuid = UUID.randomUUID();
+
+        // the tile of P1 and P2
+        byte[] tile = geoDataService.getTile(networkUuid, network, 6, 32, 31);
+        assertTrue(tile.length > 0);
+        assertSame(tile, geoDataService.getTile(networkUuid, network, 6, 32, 31));
+        assertArrayEquals(tile, geoDataService.getTile(null, network, 6, 32, 31));
+        assertEquals(0, geoDataService.getTile(networkUuid, network, 6, 0, 0).length);
+
+        // the cached tiles of the networks without the saved substations and lines are kept
+        geoDataService.saveSubstations(List.of(new SubstationGeoData("OTHER", Country.FR, new Coordinate(1.5, 1.5))));
+        geoDataService.saveLines(List.of(new LineGeoData("OTHER_LINE", Country.FR, Country.FR, "P1", "P2", List.of(new Coordinate(1.2, 1.2)))));
+        assertSame(tile, geoDataService.getTile(networkUuid, network, 6, 32, 31));
+
+        // the cached tiles are invalidated by the supervision writes
+        geoDataService.saveSubstations(List.of(new SubstationGeoData("P1", Country.FR, new Coordinate(1.5, 1.5))));
+        byte[] updatedTile = geoDataService.getTile(networkUuid, network, 6, 32, 31);
+        assertNotSame(tile, updatedTile);
+        assertFalse(Arrays.equals(tile, updatedTile));
+    }
+
     @Test
     void testLineCoordinatesError() {
         LineEntity lineEntity = LineEntity.create(LineGeoData.builder()
@@ -526,6 +1057,138 @@ class GeoDataServiceTest {
             geoDataService.toDto(lineEntity));
     }
 
+    @Test
+    void testLineCoordinatesMigration() throws Exception {
+        lineRepository.save(LineEntity.builder()
+            .id("NOT_ROUNDED")
+            .country("FR")
+            .otherCountry("FR")
+            .coordinates(objectMapper.writeValueAsString(List.of(new CoordinateEmbeddable(1.123456789, 2))))
+            .build());
+        Network network = createGeoDataNetwork();
+        List<LineGeoData> linesGeoData = geoDataService.getLinesByCountries(network, Set.of(Country.FR));
+
+        // the 4 lines of the setup are migrated, the line which is not rounded is kept in JSON
+        assertEquals(4, lineCoordinatesMigration.migrate());
+        assertEquals(0, lineCoordinatesMigration.migrate());
+        LineEntity migrated = lineRepository.findById("NHV2_NHV3").orElseThrow();
+        assertNull(migrated.getCoordinates());
+        assertEquals(List.of(new Coordinate(3, 1), new Coordinate(5, 6), new Coordinate(2, 7)), geoDataService.toDto(migrated).getCoordinates());
+        LineEntity notMigrated = lineRepository.findById("NOT_ROUNDED").orElseThrow();
+        assertNull(notMigrated.getBinaryCoordinates());
+        assertNotNull(notMigrated.getCoordinates());
+        // and is not examined again by the next migrations
+        assertTrue(notMigrated.getJsonCoordinatesKept());
+        assertTrue(lineRepository.findByIdGreaterThanAndBinaryCoordinatesIsNullAndCoordinatesIsNotNullAndJsonCoordinatesKeptIsNullOrderByIdAsc("",
+            PageRequest.of(0, 10)).isEmpty());
+
+        List<LineGeoData> migratedLinesGeoData = geoDataService.getLinesByCountries(network, Set.of(Country.FR));
+        assertEquals(linesGeoData.size(), migratedLinesGeoData.size());
+        for (LineGeoData lineGeoData : linesGeoData) {
+            assertEquals(lineGeoData.getCoordinates(), getFromList(migratedLinesGeoData, lineGeoData.getId()).getCoordinates());
+        }
+
+        // the saved lines are stored in the binary format
+        geoDataService.saveLines(List.of(new LineGeoData("SAVED", Country.FR, Country.FR, "P1", "P2", List.of(new Coordinate(1.000001, -2)))));
+        LineEntity saved = lineRepository.findById("SAVED").orElseThrow();
+        assertNull(saved.getCoordinates());
+        assertEquals(List.of(new Coordinate(1, -2)), geoDataService.toDto(saved).getCoordinates());
+    }
+
+    @Test
+    void testSaveLinesStream() throws Exception {
+        List<LineGeoData> lines = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            lines.add(new LineGeoData("STREAMED_" + i, Country.FR, i == 4 ? Country.BE : Country.FR, "P1", "P2",
+                List.of(new Coordinate(1, i), new Coordinate(2, i))));
+        }
+        byte[] json = objectMapper.writeValueAsBytes(lines);
+
+        // the lines are written by batches of 2 entities
+        ReflectionTestUtils.setField(geoDataService, "bulkWriteBatchSize", 2);
+        try {
+            // the line between 2 countries is counted once
+            assertEquals(new ImportReport(5, 0, 0, 0), geoDataService.saveLines(new ByteArrayInputStream(json), false));
+            for (int i = 0; i < 5; i++) {
+                assertEquals(List.of(new Coordinate(1, i), new Coordinate(2, i)),
+                    geoDataService.toDto(lineRepository.findById("STREAMED_" + i).orElseThrow()).getCoordinates());
+            }
+            // the line between 2 countries is saved once per side with the same id, the last side is kept
+            assertFalse(lineRepository.findById("STREAMED_4").orElseThrow().isSide1());
+
+            // the batches written before an invalid line are kept
+            byte[] truncated = "[{\"id\": \"STREAMED_5\", \"country1\": \"FR\", \"country2\": \"FR\", \"coordinates\": []}, {\"id\": \"STREAMED_6\", \"country1\": \"FR\", \"country2\": \"FR\", \"coordinates\": []}, {\"id\":".getBytes(StandardCharsets.UTF_8);
+            LinesImportException e = assertThrows(LinesImportException.class, () -> geoDataService.saveLines(new ByteArrayInputStream(truncated), false));
+            assertEquals(new ImportReport(2, 0, 0, 0), e.getReport());
+            assertTrue(lineRepository.findById("STREAMED_5").isPresent());
+            assertTrue(lineRepository.findById("STREAMED_6").isPresent());
+
+            // a full sync is written in a single transaction, nothing is kept on error
+            long count = lineRepository.count();
+            byte[] truncatedSync = "[{\"id\": \"STREAMED_7\", \"country1\": \"FR\", \"country2\": \"FR\", \"coordinates\": []}, {\"id\": \"STREAMED_8\", \"country1\": \"FR\", \"country2\": \"FR\", \"coordinates\": []}, {\"id\":".getBytes(StandardCharsets.UTF_8);
+            e = assertThrows(LinesImportException.class, () -> geoDataService.saveLines(new ByteArrayInputStream(truncatedSync), true));
+            assertEquals(new ImportReport(0, 0, 0, 0), e.getReport());
+            assertTrue(lineRepository.findById("STREAMED_7").isEmpty());
+            assertEquals(count, lineRepository.count());
+
+            e = assertThrows(LinesImportException.class, () -> geoDataService.saveLines(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)), false));
+            assertEquals(new ImportReport(0, 0, 0, 0), e.getReport());
+            assertEquals(new ImportReport(0, 0, 0, 0), geoDataService.saveLines(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)), false));
+        } finally {
+            ReflectionTestUtils.setField(geoDataService, "bulkWriteBatchSize", 1000);
+        }
+    }
+
+    @Test
+    void testSaveLinesDelta() throws Exception {
+        List<LineGeoData> lines = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            lines.add(new LineGeoData("DELTA_" + i, Country.FR, i == 2 ? Country.BE : Country.FR, "P1", "P2",
+                List.of(new Coordinate(1, i), new Coordinate(2, i))));
+        }
+        assertEquals(new ImportReport(3, 0, 0, 0), geoDataService.saveLines(lines));
+
+        // only the changed lines are written, the rounded content is compared
+        assertEquals(new ImportReport(0, 0, 3, 0), geoDataService.saveLines(lines));
+        lines.set(0, new LineGeoData("DELTA_0", Country.FR, Country.FR, "P1", "P2", List.of(new Coordinate(1.0000001, 0), new Coordinate(2, 0))));
+        lines.set(1, new LineGeoData("DELTA_1", Country.FR, Country.FR, "P1", "P3", List.of(new Coordinate(1, 1), new Coordinate(2, 1))));
+        assertEquals(new ImportReport(0, 1, 2, 0), geoDataService.saveLines(lines));
+        assertEquals("P3", lineRepository.findById("DELTA_1").orElseThrow().getSubstationEnd());
+
+        // the lines saved by JPA have no content hash and are rewritten
+        assertEquals(new ImportReport(0, 1, 0, 0), geoDataService.saveLines(List.of(new LineGeoData("NHV2_NHV3", Country.FR, Country.FR, "P2", "P3",
+            List.of(new Coordinate(3, 1), new Coordinate(5, 6), new Coordinate(2, 7))))));
+
+        // the lines which are not imported are deleted only on a full sync
+        long count = lineRepository.count();
+        byte[] json = objectMapper.writeValueAsBytes(lines.subList(0, 2));
+        assertEquals(new ImportReport(0, 0, 2, 0), geoDataService.saveLines(new ByteArrayInputStream(json), false));
+        assertEquals(count, lineRepository.count());
+        assertEquals(new ImportReport(0, 0, 2, (int) count - 2), geoDataService.saveLines(new ByteArrayInputStream(json), true));
+        assertEquals(Set.of("DELTA_0", "DELTA_1"), lineRepository.findAll().stream().map(LineEntity::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testSaveSubstationsDelta() {
+        // the substations saved by JPA have no content hash and are rewritten
+        List<SubstationGeoData> substations = List.of(new SubstationGeoData("P1", Country.FR, new Coordinate(1, 1)),
+            new SubstationGeoData("P20", Country.BE, new Coordinate(5, 6)));
+        assertEquals(new ImportReport(1, 1, 0, 0), geoDataService.saveSubstations(substations));
+        assertEquals(new ImportReport(0, 0, 2, 0), geoDataService.saveSubstations(substations));
+        assertEquals(new ImportReport(0, 0, 2, 0), geoDataService.saveSubstations(List.of(new SubstationGeoData("P1", Country.FR, new Coordinate(1.000001, 1)),
+            new SubstationGeoData("P20", Country.BE, new Coordinate(5, 6)))));
+        assertEquals(new ImportReport(0, 1, 1, 0), geoDataService.saveSubstations(List.of(new SubstationGeoData("P1", Country.FR, new Coordinate(1, 1)),
+            new SubstationGeoData("P20", Country.BE, new Coordinate(5, 7)))));
+
+        // the substations which are not imported are deleted only on a full sync
+        long count = substationRepository.count();
+        assertEquals(new ImportReport(0, 0, 2, (int) count - 2), geoDataService.saveSubstations(List.of(
+            new SubstationGeoData("P1", Country.FR, new Coordinate(1, 1)), new SubstationGeoData("P20", Country.BE, new Coordinate(5, 7))), true));
+        assertEquals(2, substationRepository.count());
+        assertEquals(2, substationGeoDataStore.size());
+        assertNull(substationGeoDataStore.getByIds(List.of("P2")).get("P2"));
+    }
+
     @SuppressWarnings("checkstyle:MethodLength")
     private static Network createGeoDataNetwork() {
         Network network = EurostagTutorialExample1Factory.create();
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.gridsuite.geodata.server.dto.ImportJob;
+import org.gridsuite.geodata.server.dto.ImportReport;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author agent <agent at local>
+ */
+class ImportJobServiceTest {
+
+    private static final byte[] LINES = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private static ImportJob awaitJob(ImportJobService service, UUID id, Predicate<ImportJob> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            ImportJob job = service.getJob(id).orElseThrow();
+            if (condition.test(job)) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Import job " + id + " timed out");
+    }
+
+    @Test
+    void test() throws Exception {
+        GeoDataService geoDataService = mock(GeoDataService.class);
+        given(geoDataService.saveLines(any(InputStream.class), anyBoolean(), any(IntConsumer.class))).willAnswer(invocation -> {
+            assertArrayEquals(LINES, invocation.getArgument(0, InputStream.class).readAllBytes());
+            IntConsumer progressListener = invocation.getArgument(2);
+            progressListener.accept(1);
+            progressListener.accept(2);
+            return new ImportReport(1, 1, 0, 0);
+        });
+        ImportJobService service = new ImportJobService(geoDataService, new GeoDataObserver(new SimpleMeterRegistry()), 1, 1, Duration.ofHours(1));
+
+        ImportJob submitted = service.submitLines(new ByteArrayInputStream(LINES), false);
+        assertNotNull(submitted.getCreatedAt());
+        ImportJob job = awaitJob(service, submitted.getId(), j -> j.getStatus() == ImportJob.Status.SUCCEEDED);
+        assertEquals(2, job.getProcessed());
+        assertEquals(new ImportReport(1, 1, 0, 0), job.getReport());
+        assertNull(job.getError());
+        assertNotNull(job.getFinishedAt());
+
+        assertTrue(service.getJob(UUID.randomUUID()).isEmpty());
+        assertTrue(service.cancelJob(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void testFailure() throws Exception {
+        GeoDataService geoDataService = mock(GeoDataService.class);
+        given(geoDataService.saveLines(any(InputStream.class), anyBoolean(), any(IntConsumer.class)))
+            .willThrow(new JsonParseException(null, "Start array of lines expected"));
+        ImportJobService service = new ImportJobService(geoDataService, new GeoDataObserver(new SimpleMeterRegistry()), 1, 1, Duration.ofHours(1));
+
+        ImportJob job = awaitJob(service, service.submitLines(new ByteArrayInputStream(LINES), false).getId(),
+            j -> j.getStatus() == ImportJob.Status.FAILED);
+        assertEquals("Invalid lines geographical data: Start array of lines expected", job.getError());
+        assertNull(job.getReport());
+
+        // the lines saved before an invalid line are reported
+        given(geoDataService.saveLines(any(InputStream.class), anyBoolean(), any(IntConsumer.class)))
+            .willThrow(new LinesImportException(new JsonParseException(null, "Unexpected end of lines"), new ImportReport(2, 1, 0, 0)));
+        job = awaitJob(service, service.submitLines(new ByteArrayInputStream(LINES), false).getId(),
+            j -> j.getStatus() == ImportJob.Status.FAILED);
+        assertEquals("Invalid lines geographical data: Unexpected end of lines", job.getError());
+        assertEquals(new ImportReport(2, 1, 0, 0), job.getReport());
+    }
+
+    @Test
+    void testQueueAndCancel() throws Exception {
+        GeoDataService geoDataService = mock(GeoDataService.class);
+        // runs until cancelled
+        given(geoDataService.saveLines(any(InputStream.class), anyBoolean(), any(IntConsumer.class))).willAnswer(invocation -> {
+            IntConsumer progressListener = invocation.getArgument(2);
+            for (int processed = 1; ; processed++) {
+                progressListener.accept(processed);
+                Thread.sleep(1);
+            }
+        });
+        ImportJobService service = new ImportJobService(geoDataService, new GeoDataObserver(new SimpleMeterRegistry()), 1, 1, Duration.ofHours(1));
+
+        UUID running = service.submitLines(new ByteArrayInputStream(LINES), true).getId();
+        awaitJob(service, running, j -> j.getStatus() == ImportJob.Status.RUNNING && j.getProcessed() > 0);
+        UUID queued = service.submitLines(new ByteArrayInputStream(LINES), true).getId();
+        assertEquals(ImportJob.Status.QUEUED, service.getJob(queued).orElseThrow().getStatus());
+
+        // a single job can be queued, the payload of a rejected job is not read
+        InputStream unread = new InputStream() {
+            @Override
+            public int read() {
+                throw new AssertionError("The payload of a rejected job is read");
+            }
+        };
+        assertThrows(RejectedExecutionException.class, () -> service.submitLines(unread, true));
+        assertEquals(2, service.size());
+
+        // the queued job is cancelled right away and frees its place
+        assertEquals(ImportJob.Status.CANCELLED, service.cancelJob(queued).orElseThrow().getStatus());
+        UUID queuedAgain = service.submitLines(new ByteArrayInputStream(LINES), true).getId();
+
+        // the running job stops after its current line, then the queued one starts
+        assertTrue(service.cancelJob(running).orElseThrow().isCancelRequested());
+        ImportJob cancelled = awaitJob(service, running, j -> j.getStatus() == ImportJob.Status.CANCELLED);
+        assertTrue(cancelled.getProcessed() > 0);
+        assertTrue(cancelled.getThroughput() > 0);
+        awaitJob(service, queuedAgain, j -> j.getStatus() == ImportJob.Status.RUNNING);
+        service.cancelJob(queuedAgain);
+        awaitJob(service, queuedAgain, j -> j.getStatus() == ImportJob.Status.CANCELLED);
+    }
+
+    @Test
+    void testRetention() throws Exception {
+        GeoDataService geoDataService = mock(GeoDataService.class);
+        given(geoDataService.saveLines(any(InputStream.class), anyBoolean(), any(IntConsumer.class))).willReturn(new ImportReport());
+        ImportJobService service = new ImportJobService(geoDataService, new GeoDataObserver(new SimpleMeterRegistry()), 1, 1, Duration.ZERO);
+
+        UUID id = service.submitLines(new ByteArrayInputStream(LINES), false).getId();
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (service.getJob(id).isPresent() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        // the finished job has expired
+        assertTrue(service.getJob(id).isEmpty());
+        assertEquals(0, service.size());
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the JMH benchmarks of the test sources matching the {@code jmh.includes} regular expression, for instance
+ * {@code mvn test -Dtest=JmhBenchmarksTest -Djmh.includes=CentroidBenchmark}. Skipped by the usual builds.
+ *
+ * @author agent <agent at local>
+ */
+@EnabledIfSystemProperty(named = "jmh.includes", matches = ".+")
+class JmhBenchmarksTest {
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(System.getProperty("jmh.includes"))
+                .shouldFailOnError(true)
+                .build())
+                .run();
+        assertFalse(results.isEmpty());
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.extensions.Coordinate;
+import org.gridsuite.geodata.server.repositories.LineCoordinatesCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class LineSimplifierTest {
+
+    private static final List<Coordinate> COORDINATES = List.of(
+        new Coordinate(0, 0),
+        new Coordinate(0.001, 1),
+        new Coordinate(0, 2),
+        new Coordinate(1, 3),
+        new Coordinate(0, 4));
+
+    @Test
+    void testSimplify() {
+        assertEquals(COORDINATES, LineSimplifier.simplify(COORDINATES, 0.0001));
+        assertEquals(List.of(COORDINATES.get(0), COORDINATES.get(2), COORDINATES.get(3), COORDINATES.get(4)), LineSimplifier.simplify(COORDINATES, 0.01));
+        assertEquals(List.of(COORDINATES.get(0), COORDINATES.get(4)), LineSimplifier.simplify(COORDINATES, 1));
+        assertEquals(List.of(COORDINATES.get(0)), LineSimplifier.simplify(List.of(COORDINATES.get(0)), 1));
+    }
+
+    @Test
+    void testEncodeLevels() {
+        // the first tolerance doesn't simplify anything, the last one gives the same result as the previous one
+        byte[] levels = LineSimplifier.encodeLevels(COORDINATES, new double[] {0.0001, 0.01, 1, 2}, 5);
+        assertNotNull(levels);
+        assertNull(LineCoordinatesCodec.decodeLevel(levels, 0.005));
+        assertEquals(List.of(COORDINATES.get(0), COORDINATES.get(2), COORDINATES.get(3), COORDINATES.get(4)), LineCoordinatesCodec.decodeLevel(levels, 0.01));
+        assertEquals(List.of(COORDINATES.get(0), COORDINATES.get(2), COORDINATES.get(3), COORDINATES.get(4)), LineCoordinatesCodec.decodeLevel(levels, 0.5));
+        assertEquals(List.of(COORDINATES.get(0), COORDINATES.get(4)), LineCoordinatesCodec.decodeLevel(levels, 10));
+
+        assertNull(LineSimplifier.encodeLevels(COORDINATES, new double[] {0.0001}, 5));
+        assertNull(LineSimplifier.encodeLevels(List.of(new Coordinate(0.1234567, 0), new Coordinate(0, 1), new Coordinate(0, 2)), new double[] {1}, 5));
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.extensions.Coordinate;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author agent <agent at local>
+ */
+class PolylineEncoderTest {
+
+    @Test
+    void test() {
+        // example of the encoded polyline algorithm format documentation
+        List<Coordinate> coordinates = List.of(new Coordinate(38.5, -120.2), new Coordinate(40.7, -120.95), new Coordinate(43.252, -126.453));
+        assertEquals("_p~iF~ps|U_ulLnnqC_mqNvxq`@", PolylineEncoder.encode(coordinates, 5));
+        assertEquals("_izlhA~rlgdF_{geC~ywl@_kwzCn`{nI", PolylineEncoder.encode(coordinates, 6));
+        assertEquals("", PolylineEncoder.encode(List.of(), 5));
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.extensions.Coordinate;
+import org.gridsuite.geodata.server.dto.SubstationCluster;
+import org.gridsuite.geodata.server.dto.SubstationGeoData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class SubstationClusterIndexTest {
+
+    private static final BoundingBox WORLD = new BoundingBox(-90, -180, 90, 180);
+
+    private final SubstationClusterIndex index = new SubstationClusterIndex(List.of(
+        new SubstationGeoData("A", Country.FR, new Coordinate(48.85, 2.35)),
+        new SubstationGeoData("C", Country.FR, new Coordinate(45.76, 4.84)),
+        new SubstationGeoData("B", Country.FR, new Coordinate(48.86, 2.36)),
+        new SubstationGeoData("D", Country.FR, new Coordinate(43.30, 5.37))));
+
+    @Test
+    void testClusters() {
+        List<SubstationCluster> clusters = index.getClusters(0, WORLD, 2);
+        assertEquals(1, clusters.size());
+        SubstationCluster cluster = clusters.get(0);
+        assertEquals(0, cluster.getZoom());
+        assertEquals(4, cluster.getCount());
+        assertEquals(46.6925, cluster.getCoordinate().getLatitude(), 1e-9);
+        assertEquals(3.73, cluster.getCoordinate().getLongitude(), 1e-9);
+        assertEquals(43.30, cluster.getMinLatitude(), 0);
+        assertEquals(2.35, cluster.getMinLongitude(), 0);
+        assertEquals(48.86, cluster.getMaxLatitude(), 0);
+        assertEquals(5.37, cluster.getMaxLongitude(), 0);
+        assertNull(cluster.getSubstationIds());
+        assertEquals("0/6", cluster.getToken());
+
+        // the substations close to each other are clustered at zoom level 8
+        clusters = index.getClusters(8, WORLD, 2);
+        assertEquals(3, clusters.size());
+        SubstationCluster paris = clusters.stream().filter(c -> c.getCount() == 2).findFirst().orElseThrow();
+        assertEquals(Set.of("A", "B"), Set.copyOf(paris.getSubstationIds()));
+        assertNull(paris.getToken());
+
+        // only the clusters in the bounding box
+        assertEquals(List.of(paris.getSubstationIds()),
+            index.getClusters(8, new BoundingBox(48, 2, 49, 3), 2).stream().map(SubstationCluster::getSubstationIds).toList());
+        assertTrue(index.getClusters(8, new BoundingBox(0, 0, 1, 1), 2).isEmpty());
+
+        // each substation in its own cluster at the maximum zoom level
+        clusters = index.getClusters(SubstationClusterIndex.MAX_ZOOM + 2, WORLD, 0);
+        assertEquals(4, clusters.size());
+        assertTrue(clusters.stream().allMatch(c -> c.getCount() == 1 && c.getSubstationIds().size() == 1 && c.getToken() == null));
+    }
+
+    @Test
+    void testClustersInBoundingBox() {
+        // the clusters found by key ranges are the clusters of the whole map intersecting the bounding box
+        Random random = new Random(0);
+        List<SubstationGeoData> layout = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            layout.add(new SubstationGeoData("S" + i, Country.FR, new Coordinate(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180)));
+        }
+        SubstationClusterIndex randomIndex = new SubstationClusterIndex(layout);
+        for (int zoom = 0; zoom <= SubstationClusterIndex.MAX_ZOOM; zoom++) {
+            List<SubstationCluster> allClusters = randomIndex.getClusters(zoom, WORLD, 1);
+            for (int k = 0; k < 20; k++) {
+                // around a substation
+                Coordinate center = layout.get(random.nextInt(layout.size())).getCoordinate();
+                double size = 100 / Math.pow(2, zoom) * random.nextDouble();
+                BoundingBox boundingBox = new BoundingBox(Math.max(-90, center.getLatitude() - size), Math.max(-180, center.getLongitude() - size),
+                    Math.min(90, center.getLatitude() + size), Math.min(180, center.getLongitude() + size));
+                List<String> expected = allClusters.stream()
+                    .filter(c -> boundingBox.intersects(new BoundingBox(c.getMinLatitude(), c.getMinLongitude(), c.getMaxLatitude(), c.getMaxLongitude())))
+                    .map(c -> c.getCount() + " " + c.getSubstationIds() + " " + c.getToken())
+                    .toList();
+                assertEquals(expected, randomIndex.getClusters(zoom, boundingBox, 1).stream()
+                    .map(c -> c.getCount() + " " + c.getSubstationIds() + " " + c.getToken()).toList());
+            }
+        }
+    }
+
+    @Test
+    void testExpand() {
+        List<SubstationCluster> children = index.expand("0/6", 2);
+        assertEquals(1, children.size());
+        assertEquals(1, children.get(0).getZoom());
+        assertEquals(4, children.get(0).getCount());
+
+        // expand down to the zoom level where the clusters have their ids
+        List<SubstationCluster> clusters = index.getClusters(0, WORLD, 2);
+        while (clusters.stream().anyMatch(c -> c.getToken() != null)) {
+            clusters = clusters.stream()
+                .flatMap(c -> c.getToken() != null ? index.expand(c.getToken(), 2).stream() : Stream.of(c))
+                .toList();
+        }
+        assertEquals(Set.of("A", "B", "C", "D"), clusters.stream().flatMap(c -> c.getSubstationIds().stream()).collect(Collectors.toSet()));
+        assertEquals(4, clusters.stream().mapToInt(SubstationCluster::getCount).sum());
+
+        assertTrue(index.expand("0/5", 2).isEmpty());
+        assertTrue(index.expand(SubstationClusterIndex.MAX_ZOOM + "/0", 2).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.expand("0/16", 2));
+    }
+
+    @Test
+    void testToken() {
+        assertTrue(SubstationClusterIndex.isValidToken("0/15"));
+        assertTrue(SubstationClusterIndex.isValidToken("3/1023"));
+        assertFalse(SubstationClusterIndex.isValidToken("0/16"));
+        assertFalse(SubstationClusterIndex.isValidToken("17/0"));
+        assertFalse(SubstationClusterIndex.isValidToken("-1/0"));
+        assertFalse(SubstationClusterIndex.isValidToken("12"));
+        assertFalse(SubstationClusterIndex.isValidToken("a/b"));
+        assertFalse(SubstationClusterIndex.isValidToken(null));
+    }
+}
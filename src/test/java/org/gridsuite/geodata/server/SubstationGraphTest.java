@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * @author agent <agent at local>
+ */
+class SubstationGraphTest {
+
+    @Test
+    void test() {
+        Network network = EurostagTutorialExample1Factory.create();
+
+        // only the neighbours of P1 are computed, the two parallel lines give a single neighbour
+        SubstationGraph graph = SubstationGraph.of(List.of(network.getSubstation("P1")));
+        assertEquals(2, graph.size());
+        assertEquals(0, graph.indexOf("P1"));
+        assertEquals(1, graph.indexOf("P2"));
+        assertEquals(-1, graph.indexOf("P3"));
+        assertEquals("P2", graph.getId(1));
+        assertEquals(1, graph.neighboursCount(0));
+        assertEquals(1, graph.neighbour(graph.neighboursStart(0)));
+        assertEquals(0, graph.neighboursCount(1));
+
+        graph = SubstationGraph.of(List.of(network.getSubstation("P2"), network.getSubstation("P1")));
+        assertEquals(0, graph.indexOf("P2"));
+        assertEquals(1, graph.indexOf("P1"));
+        assertEquals(1, graph.neighboursCount(0));
+        assertEquals(1, graph.neighboursCount(1));
+        assertEquals(0, graph.neighbour(graph.neighboursStart(1)));
+        assertEquals(graph.neighbourhood(0), SubstationGraph.of(List.of(network.getSubstation("P2"))).neighbourhood(0));
+
+        // P2 has P1 as neighbour, P1 has P2
+        assertEquals(2, graph.neighbourhoodCount());
+        assertNotEquals(graph.neighbourhoodId(0), graph.neighbourhoodId(1));
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.extensions.Coordinate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * @author agent <agent at local>
+ */
+class SubstationGridIndexTest {
+
+    @Test
+    void test() {
+        SubstationGridIndex gridIndex = new SubstationGridIndex();
+        gridIndex.add(3, new Coordinate(46.5, 2.5));
+        gridIndex.add(0, new Coordinate(47.9, 3.4));
+        gridIndex.add(1, new Coordinate(-0.5, -0.5));
+        gridIndex.add(2, new Coordinate(50.6, 4.6));
+
+        assertArrayEquals(new int[] {0, 3}, gridIndex.getCandidates(new Coordinate(46.9, 2.9)));
+        assertArrayEquals(new int[] {1}, gridIndex.getCandidates(new Coordinate(0.2, 0.2)));
+        assertArrayEquals(new int[] {}, gridIndex.getCandidates(new Coordinate(10, 10)));
+
+        gridIndex.move(2, new Coordinate(50.6, 4.6), new Coordinate(46.6, 2.6));
+        assertArrayEquals(new int[] {0, 2, 3}, gridIndex.getCandidates(new Coordinate(46.9, 2.9)));
+        assertArrayEquals(new int[] {}, gridIndex.getCandidates(new Coordinate(50.6, 4.6)));
+    }
+}
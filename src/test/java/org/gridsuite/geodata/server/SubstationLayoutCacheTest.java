@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.extensions.Coordinate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.gridsuite.geodata.server.dto.SubstationGeoData;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author agent <agent at local>
+ */
+class SubstationLayoutCacheTest {
+
+    private static final UUID NETWORK_UUID = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
+
+    private static Supplier<List<SubstationGeoData>> layoutSupplier(AtomicInteger computations, int size) {
+        return () -> {
+            computations.incrementAndGet();
+            return IntStream.range(0, size)
+                .mapToObj(i -> new SubstationGeoData("S" + i, Country.FR, new Coordinate(i, i)))
+                .toList();
+        };
+    }
+
+    @Test
+    void test() {
+        SubstationLayoutCache cache = new SubstationLayoutCache(5, Duration.ofHours(1), new GeoDataObserver(new SimpleMeterRegistry()));
+        AtomicInteger computations = new AtomicInteger();
+
+        SubstationLayoutCache.Key frKey = new SubstationLayoutCache.Key(NETWORK_UUID, "variant", Set.of(Country.FR));
+        assertEquals(2, cache.get(frKey, layoutSupplier(computations, 2)).size());
+        assertEquals(2, cache.get(new SubstationLayoutCache.Key(NETWORK_UUID, "variant", Set.of(Country.FR)), layoutSupplier(computations, 2)).size());
+        assertEquals(1, computations.get());
+
+        // another variant is another layout
+        SubstationLayoutCache.Key otherVariantKey = new SubstationLayoutCache.Key(NETWORK_UUID, "other", Set.of(Country.FR));
+        cache.get(otherVariantKey, layoutSupplier(computations, 3));
+        assertEquals(2, computations.get());
+        assertEquals(2, cache.size());
+
+        // the cache holds at most 5 substations, the least recently used layout is evicted
+        cache.get(frKey, layoutSupplier(computations, 2));
+        cache.get(new SubstationLayoutCache.Key(NETWORK_UUID, "variant", Set.of(Country.BE)), layoutSupplier(computations, 3));
+        assertEquals(3, computations.get());
+        assertEquals(2, cache.size());
+        cache.get(frKey, layoutSupplier(computations, 2));
+        assertEquals(3, computations.get());
+
+        // too big to be cached
+        cache.get(new SubstationLayoutCache.Key(NETWORK_UUID, "variant", Set.of()), layoutSupplier(computations, 6));
+        assertEquals(2, cache.size());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        cache.get(frKey, layoutSupplier(computations, 2));
+        assertEquals(5, computations.get());
+    }
+
+    @Test
+    void testExpiration() {
+        SubstationLayoutCache cache = new SubstationLayoutCache(100, Duration.ZERO, new GeoDataObserver(new SimpleMeterRegistry()));
+        AtomicInteger computations = new AtomicInteger();
+
+        SubstationLayoutCache.Key key = new SubstationLayoutCache.Key(NETWORK_UUID, "variant", Set.of(Country.FR));
+        cache.get(key, layoutSupplier(computations, 2));
+        cache.get(key, layoutSupplier(computations, 2));
+        assertEquals(2, computations.get());
+    }
+}
@@ -16,8 +16,11 @@ import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
 import com.powsybl.network.store.client.NetworkStoreService;
 import com.powsybl.network.store.client.PreloadingStrategy;
 import com.powsybl.network.store.client.RestClientImpl;
+import org.gridsuite.geodata.server.dto.ImportJob;
 import org.gridsuite.geodata.server.dto.LineGeoData;
 import org.gridsuite.geodata.server.dto.SubstationGeoData;
+import org.gridsuite.geodata.server.repositories.BulkSyncResult;
+import org.gridsuite.geodata.server.repositories.BulkWriteResult;
 import org.gridsuite.geodata.server.repositories.LineRepository;
 import org.gridsuite.geodata.server.repositories.SubstationRepository;
 import org.junit.jupiter.api.Test;
@@ -31,13 +34,20 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Objects;
 import java.util.UUID;
 
 import static com.powsybl.network.store.model.NetworkStoreApi.VERSION;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -86,6 +96,13 @@ class SupervisionControllerTest {
         given(service.getNetwork(networkUuid)).willReturn(testNetwork);
         given(service.getNetwork(networkUuid, PreloadingStrategy.NONE)).willReturn(testNetwork);
         given(service.getNetwork(networkUuid, PreloadingStrategy.COLLECTION)).willReturn(testNetwork);
+        given(substationRepository.upsertAll(any())).willReturn(new BulkWriteResult(1, 0, 0));
+        given(lineRepository.upsertAll(any())).willReturn(new BulkWriteResult(0, 1, 0));
+        given(lineRepository.syncAll(any())).willAnswer(invocation -> {
+            Iterator<?> batches = invocation.getArgument(0);
+            batches.forEachRemaining(batch -> { });
+            return new BulkSyncResult(new BulkWriteResult(0, 1, 0), 2);
+        });
 
         String substationJson = objectMapper.writeValueAsString(Collections.singleton(
                 SubstationGeoData.builder()
@@ -97,7 +114,8 @@ class SupervisionControllerTest {
         mvc.perform(post("/" + VERSION + "/supervision/substations")
                 .contentType(APPLICATION_JSON)
                 .content(substationJson))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"inserted\": 1, \"updated\": 0, \"unchanged\": 0, \"deleted\": 0}"));
 
         mvc.perform(post("/" + VERSION + "/supervision/lines")
                 .contentType(APPLICATION_JSON)
@@ -120,5 +138,58 @@ class SupervisionControllerTest {
                 .contentType(APPLICATION_JSON)
                 .content(toString(GEO_DATA_LINES)))
                 .andExpect(status().isOk());
+
+        mvc.perform(post("/" + VERSION + "/supervision/lines")
+                .param("fullSync", "true")
+                .contentType(APPLICATION_JSON)
+                .content(toString(GEO_DATA_LINES)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"inserted\": 0, \"updated\": 1, \"unchanged\": 0, \"deleted\": 2}"));
+
+        mvc.perform(post("/" + VERSION + "/supervision/lines")
+                .contentType(APPLICATION_JSON)
+                .content("{\"id\": \"NHV1_NHV2_1\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json("{\"inserted\": 0, \"updated\": 0, \"unchanged\": 0, \"deleted\": 0}"));
+
+        mvc.perform(post("/" + VERSION + "/supervision/lines")
+                .contentType(APPLICATION_JSON)
+                .content("[{\"id\": \"NHV1_NHV2_1\", \"country1\": \"FR\", \"country2\": \"FR\", \"coordinates\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json("{\"inserted\": 0, \"updated\": 0, \"unchanged\": 0, \"deleted\": 0}"));
+    }
+
+    @Test
+    void testImportJob() throws Exception {
+        given(lineRepository.upsertAll(any())).willReturn(new BulkWriteResult(0, 1, 0));
+
+        String submitted = mvc.perform(post("/" + VERSION + "/supervision/lines/jobs")
+                .contentType(APPLICATION_JSON)
+                .content(toString(GEO_DATA_LINES)))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        UUID jobId = objectMapper.readValue(submitted, ImportJob.class).getId();
+
+        ImportJob job = null;
+        for (int i = 0; i < 1000 && (job == null || job.getFinishedAt() == null); i++) {
+            Thread.sleep(10);
+            job = objectMapper.readValue(mvc.perform(get("/" + VERSION + "/supervision/jobs/" + jobId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), ImportJob.class);
+        }
+        assertNotNull(job);
+        assertEquals(ImportJob.Status.SUCCEEDED, job.getStatus());
+        assertTrue(job.getProcessed() > 0);
+        assertNotNull(job.getReport());
+
+        // the finished job can't be cancelled anymore
+        mvc.perform(delete("/" + VERSION + "/supervision/jobs/" + jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"));
+
+        mvc.perform(get("/" + VERSION + "/supervision/jobs/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+        mvc.perform(delete("/" + VERSION + "/supervision/jobs/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
     }
 }
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.extensions.Coordinate;
+import org.gridsuite.geodata.server.dto.LineGeoData;
+import org.gridsuite.geodata.server.dto.SubstationGeoData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class VectorTileEncoderTest {
+
+    @Test
+    void testTiles() {
+        assertTrue(VectorTileEncoder.isValid(0, 0, 0));
+        assertTrue(VectorTileEncoder.isValid(2, 3, 3));
+        assertFalse(VectorTileEncoder.isValid(2, 4, 0));
+        assertFalse(VectorTileEncoder.isValid(-1, 0, 0));
+        assertFalse(VectorTileEncoder.isValid(25, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new VectorTileEncoder(1, 0, 2));
+
+        BoundingBox world = VectorTileEncoder.getBoundingBox(0, 0, 0);
+        assertEquals(-85.0511, world.minLatitude(), 1e-4);
+        assertEquals(-180, world.minLongitude(), 0);
+        assertEquals(85.0511, world.maxLatitude(), 1e-4);
+        assertEquals(180, world.maxLongitude(), 0);
+
+        // north west tile extended by the buffer
+        BoundingBox northWest = VectorTileEncoder.getBoundingBox(1, 0, 0);
+        assertTrue(northWest.minLatitude() < 0);
+        assertEquals(180. / 64, northWest.maxLongitude(), 1e-9);
+        assertEquals(85.0511, northWest.maxLatitude(), 1e-4);
+    }
+
+    @Test
+    void testEncode() {
+        VectorTileEncoder encoder = new VectorTileEncoder(0, 0, 0);
+        encoder.addSubstation(new SubstationGeoData("S1", Country.FR, new Coordinate(0, 0)));
+        byte[] expected = {
+            26, 60, 120, 2, 10, 11, 115, 117, 98, 115, 116, 97, 116, 105, 111, 110, 115, 18, 15, 18, 4, 0, 0, 1, 1, 24, 1, 34, 5, 9,
+            -128, 32, -128, 32, 26, 2, 105, 100, 26, 7, 99, 111, 117, 110, 116, 114, 121, 34, 4, 10, 2, 83, 49, 34, 4, 10, 2, 70, 82,
+            40, -128, 32
+        };
+        assertArrayEquals(expected, encoder.encode());
+
+        // empty layers are not encoded
+        VectorTileEncoder emptyEncoder = new VectorTileEncoder(10, 0, 0);
+        emptyEncoder.addSubstation(new SubstationGeoData("S1", Country.FR, new Coordinate(0, 0)));
+        emptyEncoder.addLine(new LineGeoData("L1", Country.FR, Country.FR, "S1", "S2", List.of(new Coordinate(0, 0), new Coordinate(1, 1))));
+        assertEquals(0, emptyEncoder.encode().length);
+    }
+
+    @Test
+    void testClip() {
+        List<int[]> parts = VectorTileEncoder.clip(List.of(new double[] {-100, 100}, new double[] {100, 100}, new double[] {100, 5000},
+            new double[] {200, 5000}, new double[] {200, 100}));
+        assertEquals(2, parts.size());
+        assertArrayEquals(new int[] {-64, 100, 100, 100, 100, 4160}, parts.get(0));
+        assertArrayEquals(new int[] {200, 4160, 200, 100}, parts.get(1));
+
+        // the duplicate points after rounding are removed
+        parts = VectorTileEncoder.clip(List.of(new double[] {0, 0}, new double[] {0.2, 0.2}, new double[] {10, 10}));
+        assertEquals(1, parts.size());
+        assertArrayEquals(new int[] {0, 0, 10, 10}, parts.get(0));
+
+        assertTrue(VectorTileEncoder.clip(List.of(new double[] {5000, 5000}, new double[] {6000, 6000})).isEmpty());
+        assertTrue(VectorTileEncoder.clip(List.of(new double[] {10, 10}, new double[] {10.2, 10.2})).isEmpty());
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server;
+
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.extensions.Coordinate;
+import org.gridsuite.geodata.server.dto.SubstationGeoData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class ViewportIndexTest {
+
+    private static ViewportIndex createIndex() {
+        List<SubstationGeoData> layout = List.of(
+            new SubstationGeoData("A", Country.FR, new Coordinate(46.2, 2.1)),
+            new SubstationGeoData("B", Country.FR, new Coordinate(46.8, 2.9)),
+            new SubstationGeoData("C", Country.FR, new Coordinate(-0.2, -0.3)),
+            new SubstationGeoData("D", Country.BE, new Coordinate(50, 5)));
+        // E has no position
+        return new ViewportIndex(layout, List.of("A", "B", "C", "D", "E"), List.of(
+            new ViewportIndex.IndexedLine("L1", "A", "B", null),
+            new ViewportIndex.IndexedLine("L2", "A", "C", new BoundingBox(45, 1, 47, 3)),
+            // unknown end substation position
+            new ViewportIndex.IndexedLine("L3", "A", "UNKNOWN", null),
+            new ViewportIndex.IndexedLine("L4", "D", "D", new BoundingBox(50, 5, 52, 8))));
+    }
+
+    private static List<String> getSubstationIds(ViewportIndex index, BoundingBox boundingBox) {
+        return index.getSubstations(boundingBox).stream().map(SubstationGeoData::getId).toList();
+    }
+
+    @Test
+    void test() {
+        ViewportIndex index = createIndex();
+        assertEquals(7, index.weight());
+        assertEquals(4, index.getSubstationsById().size());
+
+        assertEquals(List.of("A", "B"), getSubstationIds(index, new BoundingBox(46, 2, 47, 3)));
+        assertEquals(List.of("L1", "L2"), index.getLineIds(new BoundingBox(46, 2, 47, 3)));
+
+        // the bounds are included
+        assertEquals(List.of("D"), getSubstationIds(index, new BoundingBox(50, 5, 50, 5)));
+
+        assertEquals(List.of(), getSubstationIds(index, new BoundingBox(10, 10, 11, 11)));
+        assertEquals(List.of(), index.getLineIds(new BoundingBox(10, 10, 11, 11)));
+
+        // only the stored bounding box of L4 is in the box
+        assertEquals(List.of(), getSubstationIds(index, new BoundingBox(51, 7, 51.5, 7.5)));
+        assertEquals(List.of("L4"), index.getLineIds(new BoundingBox(51, 7, 51.5, 7.5)));
+
+        // L2 crosses the box between its ends
+        assertEquals(List.of(), getSubstationIds(index, new BoundingBox(1, 1, 2, 2)));
+        assertEquals(List.of("L2"), index.getLineIds(new BoundingBox(1, 1, 2, 2)));
+
+        // whole world
+        BoundingBox world = new BoundingBox(-90, -180, 90, 180);
+        assertEquals(List.of("A", "B", "C", "D"), getSubstationIds(index, world));
+        assertEquals(List.of("L1", "L2", "L4"), index.getLineIds(world));
+    }
+
+    @Test
+    void testContainsAny() {
+        ViewportIndex index = createIndex();
+        assertTrue(index.containsAny(List.of("X", "A"), List.of()));
+        // the substations and the lines of the network without position are also known
+        assertTrue(index.containsAny(List.of("E"), List.of()));
+        assertTrue(index.containsAny(List.of(), List.of("L3")));
+        assertFalse(index.containsAny(List.of("X", "L1"), List.of("A", "Y")));
+        assertFalse(index.containsAny(List.of(), List.of()));
+    }
+
+    @Test
+    @Timeout(10)
+    void testHugeBoundingBoxes() {
+        ViewportIndex index = createIndex();
+        for (BoundingBox boundingBox : List.of(new BoundingBox(-1e9, -1e9, 1e9, 1e9), new BoundingBox(-1e300, -1e300, 1e300, 1e300),
+                new BoundingBox(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY))) {
+            assertEquals(List.of("A", "B", "C", "D"), getSubstationIds(index, boundingBox));
+            assertEquals(List.of("L1", "L2", "L4"), index.getLineIds(boundingBox));
+        }
+        // out of the ranges, but close to the indexed positions
+        assertEquals(List.of(), getSubstationIds(index, new BoundingBox(1e9, 1e9, 2e9, 2e9)));
+        assertEquals(List.of("D"), getSubstationIds(index, new BoundingBox(49.9, 4.9, 1e9, 1e9)));
+
+        // positions out of the ranges are indexed in the border cells
+        ViewportIndex outOfRangeIndex = new ViewportIndex(List.of(new SubstationGeoData("E", Country.FR, new Coordinate(1e9, -1e300))), List.of("E"),
+            List.of(new ViewportIndex.IndexedLine("L5", "E", "E", new BoundingBox(-1e300, -1e300, 1e300, 1e300))));
+        assertEquals(List.of("E"), getSubstationIds(outOfRangeIndex, new BoundingBox(0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 0)));
+        assertEquals(List.of(), getSubstationIds(outOfRangeIndex, new BoundingBox(-90, -180, 90, 180)));
+        assertEquals(List.of("L5"), outOfRangeIndex.getLineIds(new BoundingBox(10, 10, 11, 11)));
+    }
+
+    @Test
+    void testBoundingBoxRequest() {
+        assertTrue(BoundingBox.isValidRequest(-90, -180, 90, 180));
+        assertFalse(BoundingBox.isValidRequest(1, 0, 0, 1));
+        assertFalse(BoundingBox.isValidRequest(-90.1, -180, 90, 180));
+        assertFalse(BoundingBox.isValidRequest(-90, -180, 90, 180.1));
+        assertFalse(BoundingBox.isValidRequest(Double.NEGATIVE_INFINITY, 0, 1, 1));
+        assertFalse(BoundingBox.isValidRequest(0, 0, 1, Double.NaN));
+    }
+
+    @Test
+    void testBoundingBox() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundingBox(2, 0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BoundingBox(0, Double.NaN, 1, 1));
+        BoundingBox boundingBox = new BoundingBox(0, 0, 1, 1).union(BoundingBox.of(new Coordinate(2, -1)));
+        assertEquals(new BoundingBox(0, -1, 2, 1), boundingBox);
+        assertTrue(boundingBox.contains(new Coordinate(2, 1)));
+        assertFalse(boundingBox.contains(new Coordinate(2.1, 1)));
+        assertTrue(boundingBox.intersects(new BoundingBox(2, 1, 3, 3)));
+        assertFalse(boundingBox.intersects(new BoundingBox(2, 1.1, 3, 3)));
+    }
+
+    @Test
+    void testCache() {
+        ViewportIndexCache cache = new ViewportIndexCache(10, Duration.ofHours(1));
+        AtomicInteger builds = new AtomicInteger();
+        ViewportIndexCache.Key key = new ViewportIndexCache.Key(UUID.randomUUID(), "variant");
+
+        ViewportIndex index = cache.get(key, () -> {
+            builds.incrementAndGet();
+            return createIndex();
+        });
+        assertSame(index, cache.get(key, ViewportIndexTest::createIndex));
+        assertEquals(1, builds.get());
+        assertEquals(1, cache.size());
+
+        // the cache holds at most 10 substations and lines
+        cache.get(new ViewportIndexCache.Key(UUID.randomUUID(), "variant"), ViewportIndexTest::createIndex);
+        assertEquals(1, cache.size());
+        assertNotSame(index, cache.get(key, ViewportIndexTest::createIndex));
+
+        // only the indexes of the networks containing the saved substations or lines are invalidated
+        ViewportIndexCache.Key otherKey = new ViewportIndexCache.Key(UUID.randomUUID(), "variant");
+        ViewportIndex otherIndex = cache.get(otherKey, () -> new ViewportIndex(List.of(), List.of("X"), List.of()));
+        assertEquals(Set.of(otherKey), cache.invalidate(List.of("A"), List.of()));
+        assertSame(otherIndex, cache.get(otherKey, ViewportIndexTest::createIndex));
+        cache.get(key, ViewportIndexTest::createIndex);
+        // L3 isn't indexed, its end substation position being unknown
+        assertEquals(Set.of(otherKey), cache.invalidate(List.of(), List.of("L3", "Y")));
+        assertEquals(1, cache.size());
+        assertEquals(Set.of(), cache.invalidate(List.of("X"), List.of()));
+        assertEquals(0, cache.size());
+
+        cache.get(key, ViewportIndexTest::createIndex);
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+}
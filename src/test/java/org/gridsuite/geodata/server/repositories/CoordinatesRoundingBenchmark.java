@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.repositories;
+
+import com.powsybl.iidm.network.extensions.Coordinate;
+import org.apache.commons.math3.util.Precision;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rounding and encoding of the coordinates of the imported lines: {@link Precision#round(double, int)} done before,
+ * against {@link DecimalRounding#round(double, int)}, then the encoding and the decoding of the rounded coordinates.
+ * <p>
+ * Run with {@code mvn test -Dtest=JmhBenchmarksTest -Djmh.includes=CoordinatesRoundingBenchmark}.
+ *
+ * @author agent <agent at local>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoordinatesRoundingBenchmark {
+
+    private static final int COORDINATES = 1000000;
+
+    // points of an imported line
+    private static final int LINE_COORDINATES = 1000;
+
+    private static final int PRECISION = 5;
+
+    private double[] values;
+
+    private List<Coordinate> line;
+
+    private byte[] encodedLine;
+
+    @Setup
+    public void setUp() {
+        // fixed seed, the runs are reproducible
+        Random random = new Random(0);
+        values = random.doubles(COORDINATES, -180, 180).toArray();
+        line = new ArrayList<>(LINE_COORDINATES);
+        for (int i = 0; i < LINE_COORDINATES; i++) {
+            line.add(new Coordinate(DecimalRounding.round(42 + random.nextDouble() * 9, PRECISION),
+                    DecimalRounding.round(-5 + random.nextDouble() * 13, PRECISION)));
+        }
+        encodedLine = LineCoordinatesCodec.encode(line, PRECISION);
+    }
+
+    @Benchmark
+    public double precisionRound() {
+        double result = 0;
+        for (double value : values) {
+            result += Precision.round(value, PRECISION);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double decimalRounding() {
+        double result = 0;
+        for (double value : values) {
+            result += DecimalRounding.round(value, PRECISION);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] encodeLine() {
+        return LineCoordinatesCodec.encode(line, PRECISION);
+    }
+
+    @Benchmark
+    public List<Coordinate> decodeLine() {
+        return LineCoordinatesCodec.decode(encodedLine);
+    }
+}
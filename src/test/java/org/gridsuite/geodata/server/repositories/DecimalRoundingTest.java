@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.repositories;
+
+import org.apache.commons.math3.util.Precision;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author agent <agent at local>
+ */
+class DecimalRoundingTest {
+
+    private static void assertSameRounding(double value, int scale) {
+        // compares the bits, to also check the sign of the zeros
+        assertEquals(Double.doubleToRawLongBits(Precision.round(value, scale)), Double.doubleToRawLongBits(DecimalRounding.round(value, scale)),
+            () -> value + " rounded to " + scale + " decimals");
+    }
+
+    @Test
+    void testRandom() {
+        Random random = new Random(0);
+        for (int i = 0; i < 200000; i++) {
+            double value = (random.nextDouble() * 2 - 1) * (i % 2 == 0 ? 180 : Math.pow(10, random.nextInt(16) - 8));
+            assertSameRounding(value, random.nextInt(10));
+        }
+    }
+
+    @Test
+    void testTies() {
+        Random random = new Random(0);
+        for (int i = 0; i < 100000; i++) {
+            int scale = random.nextInt(10);
+            // the decimal with a 5 after the last kept decimal, and its neighbours
+            double tie = Double.parseDouble((random.nextInt(36000000) - 18000000) + "5E-" + (scale + 1));
+            assertSameRounding(tie, scale);
+            assertSameRounding(Math.nextUp(tie), scale);
+            assertSameRounding(Math.nextDown(tie), scale);
+        }
+        assertSameRounding(2.5, 0);
+        assertSameRounding(-2.5, 0);
+        assertSameRounding(1.005, 2);
+        assertSameRounding(1.000005, 5);
+        assertSameRounding(-1.000005, 5);
+        assertSameRounding(0.125, 2);
+        assertSameRounding(0.49999999999999994, 0);
+    }
+
+    @Test
+    void testSpecialValues() {
+        assertSameRounding(0, 5);
+        assertSameRounding(-0.0, 5);
+        assertSameRounding(-0.000001, 5);
+        assertSameRounding(0.000001, 5);
+        assertSameRounding(Double.MIN_VALUE, 5);
+        assertSameRounding(-Double.MIN_VALUE, 5);
+        assertSameRounding(Double.NaN, 5);
+        assertSameRounding(Double.POSITIVE_INFINITY, 5);
+        assertSameRounding(Double.NEGATIVE_INFINITY, 5);
+        assertSameRounding(Double.MAX_VALUE, 5);
+        assertSameRounding(1e12 + 0.123456, 5);
+        assertSameRounding(123.456, -1);
+        assertSameRounding(123.456789, 20);
+        assertSameRounding(0.1 + 0.2, 15);
+        assertSameRounding(-180, 5);
+        assertSameRounding(89.999995, 5);
+    }
+}
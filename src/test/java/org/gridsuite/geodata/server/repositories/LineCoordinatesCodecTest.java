@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.geodata.server.repositories;
+
+import com.powsybl.iidm.network.extensions.Coordinate;
+import org.apache.commons.math3.util.Precision;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class LineCoordinatesCodecTest {
+
+    @Test
+    void test() {
+        Random random = new Random(42);
+        for (int precision = 0; precision <= 9; precision++) {
+            List<Coordinate> coordinates = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                coordinates.add(new Coordinate(Precision.round(random.nextDouble(-90, 90), precision),
+                    Precision.round(random.nextDouble(-180, 180), precision)));
+            }
+            byte[] bytes = LineCoordinatesCodec.encode(coordinates, precision);
+            assertNotNull(bytes);
+            // exactly the same values
+            assertEquals(coordinates, LineCoordinatesCodec.decode(bytes));
+        }
+
+        List<Coordinate> coordinates = List.of(new Coordinate(48.85661, 2.35222), new Coordinate(48.85671, 2.35202));
+        byte[] bytes = LineCoordinatesCodec.encode(coordinates, 5);
+        // 3 bytes of header, 7 bytes for the first coordinate and 2 bytes for the close second one
+        assertEquals(12, bytes.length);
+        assertEquals(coordinates, LineCoordinatesCodec.decode(bytes));
+
+        assertEquals(List.of(), LineCoordinatesCodec.decode(LineCoordinatesCodec.encode(List.of(), 5)));
+    }
+
+    @Test
+    void testNotEncodable() {
+        assertNull(LineCoordinatesCodec.encode(List.of(new Coordinate(1.123456, 2)), 5));
+        assertNull(LineCoordinatesCodec.encode(List.of(new Coordinate(-0.0, 2)), 5));
+        assertNull(LineCoordinatesCodec.encode(List.of(new Coordinate(Double.NaN, 2)), 5));
+        assertNull(LineCoordinatesCodec.encode(List.of(new Coordinate(1, 2)), 10));
+    }
+
+    @Test
+    void testErrors() {
+        byte[] bytes = LineCoordinatesCodec.encode(List.of(new Coordinate(1, 2)), 5);
+        assertThrows(IllegalArgumentException.class, () -> LineCoordinatesCodec.decode(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> LineCoordinatesCodec.decode(new byte[] {2, 5, 0}));
+        assertThrows(IllegalArgumentException.class, () -> LineCoordinatesCodec.decode(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> LineCoordinatesCodec.decode(Arrays.copyOf(bytes, bytes.length + 1)));
+    }
+}
@@ -53,7 +53,8 @@ class LineRepositoryTest {
                 .coordinates(objectMapper.writeValueAsString(coordinateEntities));
 
         assertEquals("LineEntity.LineEntityBuilder(country=FR, id=lineID, side1=false, otherCountry=BE, substationStart$value=sub, substationEnd$value=way, "
-                + "coordinates=[{\"lat\":11.0,\"lon\":12.0},{\"lat\":13.0,\"lon\":14.1}])", lineEntityBuilder.toString());
+                + "coordinates=[{\"lat\":11.0,\"lon\":12.0},{\"lat\":13.0,\"lon\":14.1}], binaryCoordinates=null, simplifiedCoordinates=null, "
+                + "minLatitude=null, minLongitude=null, maxLatitude=null, maxLongitude=null)", lineEntityBuilder.toString());
 
         repository.save(lineEntityBuilder.build());
         List<LineEntity> lines = repository.findAll();
@@ -73,4 +74,37 @@ class LineRepositoryTest {
         assertEquals("Scooby", le.getSubstationEnd());
         assertTrue(le.isSide1());
     }
+
+    @Test
+    void testUpsertAll() {
+        List<Coordinate> coordinates = List.of(new Coordinate(11, 12), new Coordinate(13, 14));
+        LineEntity line1 = LineEntity.create(new LineGeoData("ID1", Country.FR, Country.FR, "S1", "S2", coordinates), true, null, new byte[] {1, 2}, null);
+        LineEntity line2 = LineEntity.create(new LineGeoData("ID2", Country.FR, Country.BE, "S1", "S3", coordinates), true, "[]", null, null);
+        assertEquals(new BulkWriteResult(2, 0, 0), repository.upsertAll(List.of(line1, line2)));
+        // ID1 is updated, and the last ID2 is kept
+        LineEntity updatedLine1 = LineEntity.create(new LineGeoData("ID1", Country.FR, Country.FR, "S1", "S4", coordinates), true, null, new byte[] {3}, new byte[] {4});
+        LineEntity line2Side2 = LineEntity.create(new LineGeoData("ID2", Country.FR, Country.BE, "S1", "S3", coordinates), false, "[]", null, null);
+        assertEquals(new BulkWriteResult(0, 2, 0), repository.upsertAll(List.of(updatedLine1, line2, line2Side2)));
+        assertEquals(BulkWriteResult.EMPTY, repository.upsertAll(List.of()));
+        // the unchanged lines are not written
+        assertEquals(new BulkWriteResult(0, 0, 2), repository.upsertAll(List.of(updatedLine1, line2Side2)));
+
+        assertEquals(2, repository.count());
+        LineEntity saved1 = repository.findById("ID1").orElseThrow();
+        assertEquals("S4", saved1.getSubstationEnd());
+        assertArrayEquals(new byte[] {3}, saved1.getBinaryCoordinates());
+        assertArrayEquals(new byte[] {4}, saved1.getSimplifiedCoordinates());
+        assertNull(saved1.getCoordinates());
+        assertEquals(updatedLine1.getMaxLongitude(), saved1.getMaxLongitude());
+        LineEntity saved2 = repository.findById("ID2").orElseThrow();
+        assertFalse(saved2.isSide1());
+        assertEquals("BE", saved2.getCountry());
+        assertEquals("[]", saved2.getCoordinates());
+        assertNull(saved2.getBinaryCoordinates());
+
+        // the lines which are not in the batches are deleted
+        assertEquals(new BulkSyncResult(new BulkWriteResult(0, 0, 2), 1), repository.syncAll(List.of(List.of(line2Side2), List.of(line2Side2)).iterator()));
+        assertEquals(List.of("ID2"), repository.findAll().stream().map(LineEntity::getId).toList());
+        assertEquals(new BulkSyncResult(new BulkWriteResult(0, 0, 1), 0), repository.syncAll(List.of(List.of(line2Side2)).iterator()));
+    }
 }
@@ -13,6 +13,9 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -68,4 +71,35 @@ class SubstationRepositoryTest {
         assertEquals(3, substations.get(0).getCoordinate().getLat(), 0);
         assertEquals(2, substations.get(0).getCoordinate().getLon(), 0);
     }
+
+    @Test
+    void testUpsertAll() {
+        assertEquals(new BulkWriteResult(2, 0, 0), repository.upsertAll(List.of(
+            SubstationEntity.builder().country("FR").id("ID").coordinate(CoordinateEmbeddable.builder().lat(3).lon(2).build()).build(),
+            SubstationEntity.builder().country("FR").id("ID2").coordinate(CoordinateEmbeddable.builder().lat(4).lon(5).build()).build())));
+        // ID is updated, ID3 inserted, and the last ID3 is kept
+        assertEquals(new BulkWriteResult(1, 1, 0), repository.upsertAll(List.of(
+            SubstationEntity.builder().country("BE").id("ID").coordinate(CoordinateEmbeddable.builder().lat(6).lon(7).build()).build(),
+            SubstationEntity.builder().country("FR").id("ID3").coordinate(CoordinateEmbeddable.builder().lat(0).lon(0).build()).build(),
+            SubstationEntity.builder().country("FR").id("ID3").coordinate(CoordinateEmbeddable.builder().lat(8).lon(9).build()).build())));
+        assertEquals(BulkWriteResult.EMPTY, repository.upsertAll(List.of()));
+        // the unchanged substations are not written
+        assertEquals(new BulkWriteResult(0, 0, 2), repository.upsertAll(List.of(
+            SubstationEntity.builder().country("FR").id("ID2").coordinate(CoordinateEmbeddable.builder().lat(4).lon(5).build()).build(),
+            SubstationEntity.builder().country("FR").id("ID3").coordinate(CoordinateEmbeddable.builder().lat(8).lon(9).build()).build())));
+
+        Map<String, SubstationEntity> substations = repository.findAll().stream().collect(Collectors.toMap(SubstationEntity::getId, Function.identity()));
+        assertEquals(3, substations.size());
+        assertEquals("BE", substations.get("ID").getCountry());
+        assertEquals(6, substations.get("ID").getCoordinate().getLat(), 0);
+        assertEquals(7, substations.get("ID").getCoordinate().getLon(), 0);
+        assertEquals(4, substations.get("ID2").getCoordinate().getLat(), 0);
+        assertEquals(8, substations.get("ID3").getCoordinate().getLat(), 0);
+        assertEquals(9, substations.get("ID3").getCoordinate().getLon(), 0);
+
+        // the substations which are not given are deleted
+        assertEquals(new BulkSyncResult(new BulkWriteResult(0, 0, 1), 2), repository.syncAll(List.of(
+            SubstationEntity.builder().country("FR").id("ID2").coordinate(CoordinateEmbeddable.builder().lat(4).lon(5).build()).build())));
+        assertEquals(List.of("ID2"), repository.findAll().stream().map(SubstationEntity::getId).toList());
+    }
 }